@@ -0,0 +1,121 @@
+package convertidor.benchmarks;
+
+import convertidor.AFN;
+import convertidor.BuscadorArchivo;
+import convertidor.Convertidor;
+import convertidor.OyenteConversion;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de cómo escala la búsqueda en paralelo con el número de hilos.
+ * Recorre el mismo archivo temporal de líneas aleatorias con cada número de hilos, la aceleración es el tiempo
+ * con 1 hilo entre el tiempo con n. Con hilos=0 se mide la búsqueda secuencial, sin dividir el archivo.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see BuscadorArchivo#buscarEnParalelo(Path, ForkJoinPool)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuscadorBenchmark {
+  /** Expresión a buscar */
+  @Param({"ab(c+d)*e"})
+  public String expresion;
+  /** Número de hilos del pool, 0 para la búsqueda secuencial */
+  @Param({"0", "1", "2", "4", "8"})
+  public int hilos;
+  /** Tamaño del archivo generado, en MB */
+  @Param({"64"})
+  public int megabytes;
+
+  /** Archivo temporal donde se busca */
+  private Path archivo;
+  /** Buscador que descarta la salida */
+  private BuscadorArchivo buscador;
+  /** Pool de la búsqueda en paralelo, null en la secuencial */
+  private ForkJoinPool pool;
+
+  /**
+   * Convertir la expresión, generar el archivo y crear el pool antes de medir
+   * @throws IOException Si no se puede escribir el archivo
+   */
+  @Setup
+  public void preparar() throws IOException {
+    Convertidor convertidor = new Convertidor(expresion, OyenteConversion.SILENCIOSO);
+    convertidor.convertir();
+    AFN automata = convertidor.getAFN();
+    buscador = new BuscadorArchivo(automata, OutputStream.nullOutputStream(), false);
+    archivo = generarArchivo((long) megabytes << 20);
+    pool = hilos == 0 ? null : new ForkJoinPool(hilos);
+  }
+
+  /**
+   * Borrar el archivo y detener el pool al terminar
+   * @throws IOException Si no se puede borrar el archivo
+   */
+  @TearDown
+  public void terminar() throws IOException {
+    if (pool != null) pool.shutdown();
+    Files.deleteIfExists(archivo);
+  }
+
+  /**
+   * Buscar la expresión en el archivo completo
+   * @return Número de líneas con coincidencia
+   * @throws IOException Si no se puede leer el archivo
+   */
+  @Benchmark
+  public long buscar() throws IOException {
+    return pool == null ? buscador.buscar(archivo) : buscador.buscarEnParalelo(archivo, pool);
+  }
+
+  /**
+   * Generar un archivo temporal con líneas de letras y espacios aleatorios
+   * @param tamano Número aproximado de bytes
+   * @return Ruta del archivo generado
+   * @throws IOException Si no se puede escribir el archivo
+   */
+  private static Path generarArchivo(long tamano) throws IOException {
+    Path archivo = Files.createTempFile("buscador", ".txt");
+    Random aleatorio = new Random(42);
+    String letras = "abcdexyz ";
+    long escritos = 0;
+    try (BufferedWriter escritor = Files.newBufferedWriter(archivo, StandardCharsets.ISO_8859_1)) {
+      while (escritos < tamano) {
+        int longitud = aleatorio.nextInt(80);
+        for (int i = 0; i < longitud; i++) escritor.write(letras.charAt(aleatorio.nextInt(letras.length())));
+        escritor.write('\n');
+        escritos += longitud + 1;
+      }
+    }
+    return archivo;
+  }
+
+  /**
+   * Ejecutar los benchmarks de esta clase, para correrlos desde el IDE
+   * @param args Sin uso
+   * @throws RunnerException Si JMH no puede ejecutar los benchmarks
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opciones = new OptionsBuilder()
+            .include(BuscadorBenchmark.class.getSimpleName())
+            .build();
+    new Runner(opciones).run();
+  }
+}
@@ -0,0 +1,122 @@
+package convertidor.benchmarks;
+
+import convertidor.AFN;
+import convertidor.Convertidor;
+import convertidor.Expresion;
+import convertidor.OyenteConversion;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las partes de la conversión de ER a AFN.
+ * Las expresiones se generan según su longitud, la profundidad de sus agrupaciones y la anchura de sus uniones.
+ * Con el profiler de GC (-prof gc) también se reporta cuánta memoria se asigna por operación.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see GeneradorExpresiones
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConvertidorBenchmark {
+  /** Número aproximado de caracteres de la expresión */
+  @Param({"100", "1000", "10000"})
+  public int longitud;
+  /** Número de agrupaciones anidadas en cada bloque */
+  @Param({"1", "8", "64"})
+  public int profundidad;
+  /** Número de alternativas en cada unión */
+  @Param({"2", "16"})
+  public int anchura;
+
+  /** Bloques concatenados */
+  private String concatenacion;
+  /** Bloques unidos con + */
+  private String union;
+  /** Expresión de concatenaciones ya analizada */
+  private Expresion expresionConcatenacion;
+  /** Expresión de uniones ya analizada */
+  private Expresion expresionUnion;
+  /** AFN ya convertido de la concatenación */
+  private AFN automata;
+
+  /** Generar las expresiones y convertir una antes de medir */
+  @Setup
+  public void preparar() {
+    concatenacion = GeneradorExpresiones.generar(longitud, profundidad, anchura, false);
+    union = GeneradorExpresiones.generar(longitud, profundidad, anchura, true);
+    expresionConcatenacion = new Expresion(concatenacion);
+    expresionUnion = new Expresion(union);
+    automata = convertir(concatenacion);
+  }
+
+  /**
+   * Separar las uniones del primer nivel
+   * @return Las subexpresiones
+   */
+  @Benchmark
+  public ArrayList<Expresion> separarUniones() { return Expresion.separarUniones(expresionUnion); }
+
+  /**
+   * Separar las concatenaciones del primer nivel
+   * @return Las subexpresiones
+   */
+  @Benchmark
+  public ArrayList<Expresion> separarConcatenaciones() {
+    return Expresion.separarConcatenaciones(expresionConcatenacion);
+  }
+
+  /**
+   * Verificar que las agrupaciones estén balanceadas
+   * @return True, las expresiones generadas están balanceadas
+   */
+  @Benchmark
+  public boolean estaBalanceada() { return Expresion.estaBalanceada(concatenacion); }
+
+  /**
+   * Convertir la expresión completa, desde el texto, sin mostrar los pasos
+   * @return El AFN
+   */
+  @Benchmark
+  public AFN convertir() { return convertir(concatenacion); }
+
+  /**
+   * Obtener el quíntuplo del AFN ya convertido
+   * @return El AFN como texto
+   */
+  @Benchmark
+  public String afnToString() { return automata.toString(); }
+
+  /**
+   * Convertir una expresión sin mostrar los pasos
+   * @param expresionRegular Expresión a convertir
+   * @return El AFN
+   */
+  private static AFN convertir(String expresionRegular) {
+    Convertidor convertidor = new Convertidor(expresionRegular, OyenteConversion.SILENCIOSO);
+    convertidor.convertir();
+    return convertidor.getAFN();
+  }
+
+  /**
+   * Ejecutar los benchmarks de esta clase con el profiler de GC, para correrlos desde el IDE
+   * @param args Sin uso
+   * @throws RunnerException Si JMH no puede ejecutar los benchmarks
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opciones = new OptionsBuilder()
+            .include(ConvertidorBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(opciones).run();
+  }
+}
@@ -0,0 +1,56 @@
+package convertidor.benchmarks;
+
+/**
+ * Clase que genera expresiones regulares válidas para los benchmarks.
+ * Cada expresión es una secuencia de bloques iguales en estructura, cada bloque tiene tantas agrupaciones
+ * anidadas como la profundidad y en cada nivel una unión con tantas alternativas como la anchura.
+ * Ejemplo con profundidad 2 y anchura 3: ((ab*+c+d)*+e+f)*
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ */
+public class GeneradorExpresiones {
+  /** Simbolos del alfabeto que se usan, se recorren en orden para que las expresiones sean reproducibles */
+  private static final String SIMBOLOS = "abcdefghijklmnopqrstuvwxyz";
+
+  /** Siguiente simbolo a usar */
+  private int siguiente;
+
+  /**
+   * Generar los bloques que se repiten en la expresión hasta alcanzar la longitud
+   * @param longitud Número aproximado de caracteres, se agregan bloques completos hasta alcanzarla
+   * @param profundidad Número de agrupaciones anidadas en cada bloque
+   * @param anchura Número de alternativas en cada unión, al menos 1
+   * @param union Si los bloques se unen con + en lugar de concatenarse
+   * @return La expresión regular generada
+   */
+  public static String generar(int longitud, int profundidad, int anchura, boolean union) {
+    GeneradorExpresiones generador = new GeneradorExpresiones();
+    StringBuilder expresion = new StringBuilder();
+    do {
+      if (union && !expresion.isEmpty()) expresion.append('+');
+      generador.agregarBloque(expresion, profundidad, anchura);
+    } while (expresion.length() < longitud);
+    return expresion.toString();
+  }
+
+  /**
+   * Agregar un bloque a la expresión, empezando por el nivel más interno
+   * @param expresion Donde se agrega el bloque
+   * @param profundidad Número de agrupaciones anidadas
+   * @param anchura Número de alternativas en cada unión
+   */
+  private void agregarBloque(StringBuilder expresion, int profundidad, int anchura) {
+    int inicio = expresion.length();
+    expresion.append(simbolo()).append(simbolo()).append('*');
+    for (int nivel = 0; nivel < profundidad; nivel++) {
+      for (int i = 1; i < anchura; i++) expresion.append('+').append(simbolo());
+      // Encerrar todo lo que va del bloque y aplicarle cerradura de Kleene
+      expresion.insert(inicio, '(').append(")*");
+    }
+  }
+
+  /**
+   * Obtener el siguiente simbolo del alfabeto
+   * @return Un simbolo
+   */
+  private char simbolo() { return SIMBOLOS.charAt(siguiente++ % SIMBOLOS.length()); }
+}
@@ -0,0 +1,123 @@
+package convertidor.benchmarks;
+
+import convertidor.AFDPerezoso;
+import convertidor.ConjuntoPatrones;
+import convertidor.Convertidor;
+import convertidor.OyenteConversion;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la búsqueda de muchos patrones en una línea: un AFD perezoso por patrón, recorriendo la línea
+ * una vez por cada uno, contra todos los patrones combinados en un ConjuntoPatrones, recorriéndola una sola vez.
+ * Los patrones son palabras al azar con una unión y una cerradura, y la línea es texto al azar que contiene
+ * algunas de ellas.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see ConjuntoPatrones
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatronesBenchmark {
+  /** Número de patrones */
+  @Param({"10", "100", "1000"})
+  public int numeroPatrones;
+
+  /** Un AFD por patrón */
+  private List<AFDPerezoso> individuales;
+  /** Todos los patrones combinados */
+  private ConjuntoPatrones combinados;
+  /** Línea donde se busca */
+  private String linea;
+
+  /** Generar y compilar los patrones y la línea antes de medir */
+  @Setup
+  public void preparar() {
+    Random aleatorio = new Random(numeroPatrones);
+    List<String> expresiones = new ArrayList<>(numeroPatrones);
+    List<String> coincidencias = new ArrayList<>(numeroPatrones);
+    for (int i = 0; i < numeroPatrones; i++) {
+      String palabra = palabra(aleatorio, 6);
+      coincidencias.add(palabra.substring(0, 3) + palabra.substring(4));
+      // Ejemplo: er(r+o)*or
+      expresiones.add(palabra.substring(0, 2) + "(" + palabra.charAt(2) + "+" + palabra.charAt(3) + ")*"
+              + palabra.substring(4));
+    }
+
+    individuales = new ArrayList<>(numeroPatrones);
+    for (String expresion : expresiones) {
+      Convertidor convertidor = new Convertidor(expresion, OyenteConversion.SILENCIOSO);
+      convertidor.convertir();
+      individuales.add(AFDPerezoso.paraBusqueda(convertidor.getAFN()));
+    }
+    combinados = ConjuntoPatrones.compilar(expresiones);
+
+    StringBuilder texto = new StringBuilder();
+    while (texto.length() < 200) {
+      String palabra = aleatorio.nextInt(4) == 0
+              ? coincidencias.get(aleatorio.nextInt(numeroPatrones))
+              : palabra(aleatorio, 1 + aleatorio.nextInt(8));
+      texto.append(palabra).append(' ');
+    }
+    linea = texto.toString();
+
+    // Construir las tablas de los AFD antes de medir
+    individuales();
+    combinados();
+  }
+
+  /**
+   * Buscar cada patrón por separado
+   * @return Los patrones que coinciden
+   */
+  @Benchmark
+  public BitSet individuales() {
+    BitSet encontrados = new BitSet(numeroPatrones);
+    for (int i = 0; i < individuales.size(); i++)
+      if (individuales.get(i).contiene(linea)) encontrados.set(i);
+    return encontrados;
+  }
+
+  /**
+   * Buscar todos los patrones en una sola pasada
+   * @return Los patrones que coinciden
+   */
+  @Benchmark
+  public BitSet combinados() { return combinados.buscar(linea); }
+
+  /**
+   * Generar una palabra al azar de letras minúsculas
+   * @param aleatorio Generador de números al azar
+   * @param longitud Número de letras
+   * @return La palabra
+   */
+  private static String palabra(Random aleatorio, int longitud) {
+    StringBuilder palabra = new StringBuilder(longitud);
+    for (int i = 0; i < longitud; i++) palabra.append((char) ('a' + aleatorio.nextInt(26)));
+    return palabra.toString();
+  }
+
+  /**
+   * Ejecutar los benchmarks de esta clase, para correrlos desde el IDE
+   * @param args Sin uso
+   * @throws RunnerException Si JMH no puede ejecutar los benchmarks
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opciones = new OptionsBuilder()
+            .include(PatronesBenchmark.class.getSimpleName())
+            .build();
+    new Runner(opciones).run();
+  }
+}
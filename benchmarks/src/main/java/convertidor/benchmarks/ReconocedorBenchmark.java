@@ -0,0 +1,86 @@
+package convertidor.benchmarks;
+
+import convertidor.AFN;
+import convertidor.Convertidor;
+import convertidor.OyenteConversion;
+import convertidor.SimuladorAFN;
+import convertidor.SimuladorBits;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de los reconocedores de AFN pequeños: la simulación con conjuntos de estados contra
+ * la simulación paralela de bits. Las palabras se generan al azar con el alfabeto de la expresión,
+ * que acepta cualquier prefijo para que se recorra la palabra completa.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see SimuladorBits
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReconocedorBenchmark {
+  /** Expresión a reconocer, todas tienen menos de 64 estados */
+  @Param({"(a+b)*abb", "(a+b+c)*(ab+bc)*(a*+b*)c", "(a+b+c+d+e+f)*((ab*+c+d)*+e+f)*"})
+  public String expresion;
+  /** Número de caracteres de la palabra */
+  @Param({"16", "1024"})
+  public int longitud;
+
+  /** Simulación con conjuntos de estados */
+  private SimuladorAFN conjuntos;
+  /** Simulación paralela de bits */
+  private SimuladorBits bits;
+  /** Palabra a reconocer */
+  private String palabra;
+
+  /** Convertir la expresión y generar la palabra antes de medir */
+  @Setup
+  public void preparar() {
+    Convertidor convertidor = new Convertidor(expresion, OyenteConversion.SILENCIOSO);
+    convertidor.convertir();
+    AFN automata = convertidor.getAFN();
+    conjuntos = automata.crearSimulador();
+    bits = new SimuladorBits(automata);
+
+    String simbolos = expresion.replaceAll("[^a-z]", "");
+    Random aleatorio = new Random(longitud);
+    StringBuilder generada = new StringBuilder(longitud);
+    for (int i = 0; i < longitud; i++) generada.append(simbolos.charAt(aleatorio.nextInt(simbolos.length())));
+    palabra = generada.toString();
+  }
+
+  /**
+   * Reconocer la palabra con la simulación de conjuntos
+   * @return Si se acepta
+   */
+  @Benchmark
+  public boolean simuladorAFN() { return conjuntos.acepta(palabra); }
+
+  /**
+   * Reconocer la palabra con la simulación de bits
+   * @return Si se acepta
+   */
+  @Benchmark
+  public boolean simuladorBits() { return bits.acepta(palabra); }
+
+  /**
+   * Ejecutar los benchmarks de esta clase, para correrlos desde el IDE
+   * @param args Sin uso
+   * @throws RunnerException Si JMH no puede ejecutar los benchmarks
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options opciones = new OptionsBuilder()
+            .include(ReconocedorBenchmark.class.getSimpleName())
+            .build();
+    new Runner(opciones).run();
+  }
+}
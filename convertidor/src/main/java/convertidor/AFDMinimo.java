@@ -0,0 +1,323 @@
+package convertidor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Clase que representa el Autómata Finito Determinista mínimo equivalente a un AFN.
+ * Se construye completo con la construcción de subconjuntos y después se minimiza con el algoritmo de Hopcroft.
+ * Las transiciones quedan en un solo arreglo int[] indexado por estado y clase del simbolo,
+ * por lo que reconocer cuesta una búsqueda en la tabla por caracter.
+ * Es inmutable y se puede usar desde varios hilos a la vez.
+ * La construcción de subconjuntos puede crear muchos estados, para expresiones grandes conviene AFDPerezoso.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see AFDPerezoso
+ */
+public class AFDMinimo implements Reconocedor {
+  /** Clase de cada simbolo, es la columna en la tabla */
+  private final ClasesSimbolos clases;
+  /** Número de estados, el estado inicial siempre es 0 */
+  private final int numeroEstados;
+  /** Tabla de transiciones, la fila de un estado empieza en estado * número de clases */
+  private final int[] tabla;
+  /** Para cada estado, si es final */
+  private final boolean[] finales;
+  /** Estado desde el que ya no se puede llegar a un estado final, -1 si no hay */
+  private final int estadoMuerto;
+
+  /**
+   * Construir el AFD mínimo de un AFN
+   * @param automata AFN ya convertido
+   */
+  public AFDMinimo(AFN automata) {
+    SimuladorAFN simulador = automata.crearSimulador();
+    this.clases = new ClasesSimbolos(automata.getIndice());
+    int k = clases.getNumeroClases();
+
+    // Construcción de subconjuntos, el estado muerto se agrega al final si hace falta
+    ArrayList<int[]> filas = new ArrayList<>();
+    ArrayList<Boolean> finalesAFD = new ArrayList<>();
+    HashMap<Subconjunto, Integer> indices = new HashMap<>();
+    ArrayDeque<Subconjunto> pendientes = new ArrayDeque<>();
+    ConjuntoDisperso actuales = new ConjuntoDisperso(simulador.getNumeroEstados());
+    ConjuntoDisperso siguientes = new ConjuntoDisperso(simulador.getNumeroEstados());
+    int[] auxiliar = new int[simulador.getNumeroEstados()];
+    boolean faltanTransiciones = false;
+
+    simulador.agregarCerradura(simulador.getEstadoInicial(), actuales);
+    Subconjunto inicial = Subconjunto.de(actuales, auxiliar);
+    indices.put(inicial, 0);
+    finalesAFD.add(simulador.contieneFinal(inicial.getEstados()));
+    pendientes.add(inicial);
+
+    while (!pendientes.isEmpty()) {
+      Subconjunto subconjunto = pendientes.poll();
+      actuales.limpiar();
+      for (int q : subconjunto.getEstados()) actuales.agregar(q);
+
+      int[] fila = new int[k];
+      for (int c = 0; c < k; c++) {
+        simulador.avanzar(actuales, clases.getRepresentante(c), siguientes);
+        if (siguientes.estaVacio()) {
+          fila[c] = -1;
+          faltanTransiciones = true;
+          continue;
+        }
+        Subconjunto destino = Subconjunto.de(siguientes, auxiliar);
+        Integer indice = indices.get(destino);
+        if (indice == null) {
+          indice = indices.size();
+          indices.put(destino, indice);
+          finalesAFD.add(simulador.contieneFinal(destino.getEstados()));
+          pendientes.add(destino);
+        }
+        fila[c] = indice;
+      }
+      filas.add(fila);
+    }
+
+    // Completar el AFD con un estado muerto para que todas las transiciones existan
+    int n = filas.size();
+    if (faltanTransiciones) {
+      int[] filaMuerto = new int[k];
+      Arrays.fill(filaMuerto, n);
+      filas.add(filaMuerto);
+      finalesAFD.add(false);
+      for (int[] fila : filas)
+        for (int c = 0; c < k; c++)
+          if (fila[c] == -1) fila[c] = n;
+      n++;
+    }
+
+    int[] delta = new int[n * k];
+    boolean[] esFinal = new boolean[n];
+    for (int q = 0; q < n; q++) {
+      System.arraycopy(filas.get(q), 0, delta, q * k, k);
+      esFinal[q] = finalesAFD.get(q);
+    }
+
+    // Minimizar y renumerar los bloques en el orden en que se alcanzan desde el estado inicial
+    int[] bloques = minimizar(delta, esFinal, n, k);
+    int numeroBloques = 0;
+    for (int b : bloques) numeroBloques = Math.max(numeroBloques, b + 1);
+
+    int[] nuevoIndice = new int[numeroBloques];
+    Arrays.fill(nuevoIndice, -1);
+    int[] representante = new int[numeroBloques];
+    int[] cola = new int[numeroBloques];
+    int inicioCola = 0, finCola = 0;
+    nuevoIndice[bloques[0]] = finCola;
+    cola[finCola++] = 0;
+    while (inicioCola < finCola) {
+      int q = cola[inicioCola++];
+      representante[nuevoIndice[bloques[q]]] = q;
+      for (int c = 0; c < k; c++) {
+        int destino = delta[q * k + c];
+        if (nuevoIndice[bloques[destino]] == -1) {
+          nuevoIndice[bloques[destino]] = finCola;
+          cola[finCola++] = destino;
+        }
+      }
+    }
+
+    this.numeroEstados = numeroBloques;
+    this.tabla = new int[numeroEstados * k];
+    this.finales = new boolean[numeroEstados];
+    int muerto = -1;
+    for (int s = 0; s < numeroEstados; s++) {
+      int q = representante[s];
+      finales[s] = esFinal[q];
+      boolean cicloPropio = true;
+      for (int c = 0; c < k; c++) {
+        tabla[s * k + c] = nuevoIndice[bloques[delta[q * k + c]]];
+        cicloPropio &= tabla[s * k + c] == s;
+      }
+      // En el AFD mínimo hay a lo más un estado no final que solo transiciona a sí mismo
+      if (cicloPropio && !finales[s]) muerto = s;
+    }
+    this.estadoMuerto = muerto;
+  }
+
+  /**
+   * Verificar si el AFD acepta la palabra completa
+   * @param palabra Palabra a reconocer
+   * @return True si al terminar de leer la palabra se llega a un estado final
+   */
+  @Override
+  public boolean acepta(CharSequence palabra) {
+    boolean medir = Metricas.medir();
+    long inicio = medir ? System.nanoTime() : 0;
+    int k = clases.getNumeroClases();
+    int estado = 0;
+    int i = 0;
+    for (; i < palabra.length() && estado >= 0; i++) {
+      int columna = clases.clase(palabra.charAt(i));
+      // Un simbolo fuera del alfabeto no tiene transiciones
+      estado = columna < 0 ? -1 : tabla[estado * k + columna];
+    }
+
+    // Con el AFD se visita un estado por caracter, más el inicial
+    if (medir) Metricas.global().registrarReconocimiento(Metricas.TiposReconocedor.AFD_MINIMO, inicio, i, i + 1);
+    return estado >= 0 && finales[estado];
+  }
+
+  /**
+   * Particionar los estados en bloques de estados equivalentes con el algoritmo de Hopcroft.
+   * Se empieza con los bloques de estados finales y no finales, y se separan los bloques con los que
+   * al leer un simbolo unos estados llegan a un bloque divisor y otros no, hasta que no se pueda separar más.
+   * Cuesta O(k·n·log n).
+   * @param delta Tabla de transiciones completa
+   * @param esFinal Para cada estado, si es final
+   * @param n Número de estados
+   * @param k Número de simbolos
+   * @return Para cada estado, el número de su bloque
+   */
+  private static int[] minimizar(int[] delta, boolean[] esFinal, int n, int k) {
+    // Transiciones inversas agrupadas por simbolo y estado destino
+    int[] inicioInversas = new int[k * (n + 1) + 1];
+    for (int q = 0; q < n; q++)
+      for (int c = 0; c < k; c++) inicioInversas[c * (n + 1) + delta[q * k + c] + 1]++;
+    for (int i = 0; i < inicioInversas.length - 1; i++) inicioInversas[i + 1] += inicioInversas[i];
+    int[] origenes = new int[n * k];
+    int[] siguienteInversa = Arrays.copyOf(inicioInversas, inicioInversas.length);
+    for (int q = 0; q < n; q++)
+      for (int c = 0; c < k; c++) origenes[siguienteInversa[c * (n + 1) + delta[q * k + c]]++] = q;
+
+    // Los estados de cada bloque están juntos en elementos, entre inicio y fin.
+    // Los marcados se mueven al principio del bloque, hasta marca.
+    int[] elementos = new int[n];
+    int[] posicion = new int[n];
+    int[] bloque = new int[n];
+    int[] inicio = new int[n + 1];
+    int[] fin = new int[n + 1];
+    int[] marca = new int[n + 1];
+    int numeroBloques = 0;
+
+    int e = 0;
+    for (int tipo = 0; tipo < 2; tipo++) {
+      int inicioBloque = e;
+      for (int q = 0; q < n; q++)
+        if (esFinal[q] == (tipo == 0)) {
+          elementos[e] = q;
+          posicion[q] = e++;
+          bloque[q] = numeroBloques;
+        }
+      if (e > inicioBloque) {
+        inicio[numeroBloques] = marca[numeroBloques] = inicioBloque;
+        fin[numeroBloques++] = e;
+      }
+    }
+
+    // Lista de pares (bloque, simbolo) pendientes de usar como divisores
+    boolean[] pendiente = new boolean[n * k];
+    int[] pila = new int[n * k];
+    int cima = 0;
+    // Basta con el bloque más pequeño de la partición inicial
+    int menor = numeroBloques == 2 && fin[1] - inicio[1] < fin[0] - inicio[0] ? 1 : 0;
+    for (int c = 0; c < k; c++) {
+      pendiente[menor * k + c] = true;
+      pila[cima++] = menor * k + c;
+    }
+
+    int[] tocados = new int[n];
+    int[] divisor = new int[n];
+    while (cima > 0) {
+      int par = pila[--cima];
+      pendiente[par] = false;
+      int b = par / k, c = par % k;
+
+      // Copiar el bloque divisor, porque al marcar se pueden mover sus elementos
+      int tamanoDivisor = fin[b] - inicio[b];
+      System.arraycopy(elementos, inicio[b], divisor, 0, tamanoDivisor);
+
+      // Marcar los estados que llegan al bloque divisor con el simbolo c
+      int numeroTocados = 0;
+      for (int i = 0; i < tamanoDivisor; i++) {
+        int t = divisor[i];
+        for (int j = inicioInversas[c * (n + 1) + t]; j < inicioInversas[c * (n + 1) + t + 1]; j++) {
+          int q = origenes[j];
+          int bq = bloque[q];
+          if (posicion[q] < marca[bq]) continue; // Ya estaba marcado
+          if (marca[bq] == inicio[bq]) tocados[numeroTocados++] = bq;
+          // Intercambiar q con el primer elemento no marcado
+          int otro = elementos[marca[bq]];
+          elementos[posicion[q]] = otro;
+          posicion[otro] = posicion[q];
+          elementos[marca[bq]] = q;
+          posicion[q] = marca[bq]++;
+        }
+      }
+
+      // Separar los bloques que quedaron marcados parcialmente
+      for (int i = 0; i < numeroTocados; i++) {
+        int y = tocados[i];
+        if (marca[y] == fin[y]) {
+          marca[y] = inicio[y];
+          continue;
+        }
+        int nuevo = numeroBloques++;
+        inicio[nuevo] = marca[nuevo] = inicio[y];
+        fin[nuevo] = marca[y];
+        inicio[y] = marca[y];
+        for (int j = inicio[nuevo]; j < fin[nuevo]; j++) bloque[elementos[j]] = nuevo;
+
+        for (int d = 0; d < k; d++) {
+          int agregar;
+          if (pendiente[y * k + d]) agregar = nuevo;
+          else agregar = fin[nuevo] - inicio[nuevo] < fin[y] - inicio[y] ? nuevo : y;
+          pendiente[agregar * k + d] = true;
+          pila[cima++] = agregar * k + d;
+        }
+      }
+    }
+
+    return bloque;
+  }
+
+  /**
+   * Crear un AFN con los estados y transiciones del AFD mínimo, para mostrarlo con el mismo formato de quíntuplo.
+   * El estado muerto y las transiciones hacia él no se incluyen.
+   * @return El AFN equivalente
+   * @see AFN#toString()
+   */
+  public AFN aAFN() {
+    Estado[] estados = new Estado[numeroEstados];
+    estados[0] = new Estado(0, Estado.TiposEstados.INICIAL);
+    AFN automata = new AFN(estados[0]);
+    char[] alfabeto = clases.getSimbolos();
+    automata.calcularAlfabeto(new String(alfabeto));
+    if (finales[0]) automata.agregarEstadoFinal(estados[0]);
+
+    for (int q = 1; q < numeroEstados; q++) {
+      if (q == estadoMuerto) continue;
+      estados[q] = finales[q] ? automata.crearEstadoFinal() : automata.crearEstado();
+    }
+
+    int k = clases.getNumeroClases();
+    for (int q = 0; q < numeroEstados; q++) {
+      if (q == estadoMuerto) continue;
+      for (char simbolo : alfabeto) {
+        int destino = tabla[q * k + clases.clase(simbolo)];
+        if (destino == estadoMuerto) continue;
+        automata.crearTransicion(estados[q], new Expresion(String.valueOf(simbolo)), estados[destino]);
+      }
+    }
+    return automata;
+  }
+
+  /**
+   * Obtener el número de estados del AFD mínimo, incluyendo el estado muerto
+   * @return Número de estados
+   */
+  public int getNumeroEstados() { return numeroEstados; }
+
+  /**
+   * Obtener el quíntuplo del AFD mínimo
+   * @return El String del quíntuplo
+   * @see #aAFN()
+   */
+  @Override
+  public String toString() { return aAFN().toString(); }
+}
@@ -0,0 +1,308 @@
+package convertidor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Clase que reconoce palabras con un Autómata Finito Determinista construido de forma perezosa.
+ * Cada estado del AFD es un conjunto de estados del AFN (construcción de subconjuntos), pero solo se crea
+ * la primera vez que se visita, y cada transición se calcula una sola vez y se guarda en una tabla.
+ * Cuando la tabla llega al límite de memoria se vacía por completo y se sigue construyendo desde el estado actual,
+ * como lo hace RE2, así solo se gasta memoria en los estados que realmente se visitan.
+ * El límite cuenta la capacidad reservada de los arreglos, no solo los estados creados, y los arreglos solo crecen
+ * mientras quepan en él, así la memoria no pasa del límite aunque crezcan al doble.
+ * En modo de búsqueda cada subconjunto incluye también la cerradura del estado inicial,
+ * así el AFD encuentra coincidencias que empiezan en cualquier posición del texto.
+ * No es seguro usar la misma instancia desde varios hilos.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see SimuladorAFN
+ */
+public class AFDPerezoso implements Reconocedor {
+  /** Límite de memoria de la tabla si no se indica otro, en bytes */
+  public static final long LIMITE_MEMORIA_PREDETERMINADO = 8L << 20;
+  /** Transición que aún no se ha calculado */
+  private static final int DESCONOCIDO = -1;
+  /** Estado sin estados del AFN, ya no se puede llegar a un estado final */
+  static final int MUERTO = -2;
+  /** Memoria aproximada que ocupa un estado además de su fila y su subconjunto (objetos y entrada del HashMap) */
+  private static final int MEMORIA_POR_ESTADO = 64;
+  /** Capacidad inicial de los arreglos, en estados */
+  private static final int CAPACIDAD_INICIAL = 16;
+
+  /** Simulador del AFN para calcular los subconjuntos */
+  private final SimuladorAFN simulador;
+  /** Clase de cada simbolo, es la columna en la tabla */
+  private final ClasesSimbolos clases;
+  /** Número de columnas de la tabla, una por clase de simbolos */
+  private final int numeroClases;
+  /** Límite de memoria de la tabla en bytes */
+  private final long limiteMemoria;
+  /** Memoria que reserva cada fila de los arreglos: la fila de la tabla, la referencia al subconjunto y el final */
+  private final long memoriaPorFila;
+  /** Número máximo de filas, para que la tabla quepa en un arreglo */
+  private final int maximoFilas;
+  /** Si se buscan coincidencias en cualquier posición en lugar de reconocer palabras completas */
+  private final boolean busqueda;
+
+  /** Tabla de transiciones, la fila de un estado empieza en estado * numeroClases */
+  private int[] tabla;
+  /** Estados del AFN que forman cada estado del AFD */
+  private Subconjunto[] subconjuntos;
+  /** Para cada estado del AFD, si contiene un estado final del AFN */
+  private boolean[] finales;
+  /** Para encontrar el estado del AFD de un subconjunto */
+  private final HashMap<Subconjunto, Integer> indices;
+  /** Número de estados creados desde el último reinicio */
+  private int numeroEstados;
+  /** Memoria ocupada por los estados creados, sin contar la reservada en los arreglos */
+  private long memoriaUsada;
+  /** Estado inicial del AFD, DESCONOCIDO si aún no se crea */
+  private int estadoInicial;
+  /** Número de veces que se ha vaciado la tabla */
+  private int reinicios;
+
+  /** Conjuntos auxiliares para calcular transiciones */
+  private final ConjuntoDisperso actuales;
+  private final ConjuntoDisperso siguientes;
+  /** Arreglo auxiliar para ordenar los subconjuntos */
+  private final int[] ordenados;
+
+  /**
+   * Instanciar un AFD perezoso con el límite de memoria predeterminado
+   * @param automata AFN ya convertido
+   */
+  public AFDPerezoso(AFN automata) { this(automata, LIMITE_MEMORIA_PREDETERMINADO); }
+
+  /**
+   * Instanciar un AFD perezoso
+   * @param automata AFN ya convertido
+   * @param limiteMemoria Memoria máxima de la tabla en bytes, al alcanzarla se vacía
+   */
+  public AFDPerezoso(AFN automata, long limiteMemoria) { this(automata, limiteMemoria, false); }
+
+  /**
+   * Instanciar un AFD perezoso
+   * @param automata AFN ya convertido
+   * @param limiteMemoria Memoria máxima de la tabla en bytes, al alcanzarla se vacía
+   * @param busqueda Si se buscan coincidencias en cualquier posición del texto
+   */
+  private AFDPerezoso(AFN automata, long limiteMemoria, boolean busqueda) {
+    this.simulador = automata.crearSimulador();
+    this.clases = new ClasesSimbolos(automata.getIndice());
+    this.numeroClases = clases.getNumeroClases();
+    this.limiteMemoria = limiteMemoria;
+    this.busqueda = busqueda;
+    this.indices = new HashMap<>();
+    this.actuales = new ConjuntoDisperso(simulador.getNumeroEstados());
+    this.siguientes = new ConjuntoDisperso(simulador.getNumeroEstados());
+    this.ordenados = new int[simulador.getNumeroEstados()];
+    this.memoriaPorFila = 4L * numeroClases + 4 + 1;
+    this.maximoFilas = (Integer.MAX_VALUE - 8) / Math.max(numeroClases, 1);
+    // Si el límite es muy pequeño se empieza con menos filas, al menos una para el estado inicial
+    long filasEnLimite = limiteMemoria / (memoriaPorFila + MEMORIA_POR_ESTADO);
+    int capacidad = (int) Math.max(1, Math.min(CAPACIDAD_INICIAL, filasEnLimite));
+    this.tabla = new int[capacidad * numeroClases];
+    this.subconjuntos = new Subconjunto[capacidad];
+    this.finales = new boolean[capacidad];
+    reiniciar();
+  }
+
+  /**
+   * Instanciar un AFD perezoso para buscar coincidencias en cualquier posición del texto
+   * @param automata AFN ya convertido
+   * @return El AFD en modo de búsqueda
+   * @see #contiene(CharSequence)
+   */
+  public static AFDPerezoso paraBusqueda(AFN automata) {
+    return new AFDPerezoso(automata, LIMITE_MEMORIA_PREDETERMINADO, true);
+  }
+
+  /**
+   * Verificar si el AFD acepta la palabra completa.
+   * Con la tabla ya construida, cada caracter cuesta una búsqueda en la tabla.
+   * En modo de búsqueda, es verdadero si la palabra termina con una coincidencia.
+   * @param palabra Palabra a reconocer
+   * @return True si al terminar de leer la palabra se llega a un estado final
+   */
+  @Override
+  public boolean acepta(CharSequence palabra) {
+    boolean medir = Metricas.medir();
+    long inicio = medir ? System.nanoTime() : 0;
+    int estado = estadoInicial();
+    int i = 0;
+    while (i < palabra.length() && estado != MUERTO) estado = avanzar(estado, palabra.charAt(i++));
+
+    // Con el AFD se visita un estado por caracter, más el inicial
+    if (medir) Metricas.global().registrarReconocimiento(Metricas.TiposReconocedor.AFD_PEREZOSO, inicio, i, i + 1);
+    return estado != MUERTO && finales[estado];
+  }
+
+  /**
+   * Verificar si alguna subpalabra del texto es aceptada, se detiene en la primera coincidencia
+   * @param texto Texto donde se busca
+   * @return True si hay una coincidencia en alguna posición
+   * @throws IllegalStateException Si el AFD no se creó en modo de búsqueda
+   * @see #paraBusqueda(AFN)
+   */
+  public boolean contiene(CharSequence texto) {
+    if (!busqueda) throw new IllegalStateException("El AFD no se creó en modo de búsqueda");
+    boolean medir = Metricas.medir();
+    long inicio = medir ? System.nanoTime() : 0;
+    int estado = estadoInicial();
+    int i = 0;
+    while (!finales[estado] && i < texto.length()) estado = avanzar(estado, texto.charAt(i++));
+
+    if (medir) Metricas.global().registrarReconocimiento(Metricas.TiposReconocedor.AFD_PEREZOSO, inicio, i, i + 1);
+    return finales[estado];
+  }
+
+  /**
+   * Obtener el estado inicial, creándolo si la tabla está vacía
+   * @return El estado inicial del AFD
+   */
+  int estadoInicial() {
+    if (estadoInicial == DESCONOCIDO) {
+      actuales.limpiar();
+      simulador.agregarCerradura(simulador.getEstadoInicial(), actuales);
+      estadoInicial = buscarOCrearEstado(actuales);
+    }
+    return estadoInicial;
+  }
+
+  /**
+   * Obtener el estado al que se llega leyendo un simbolo, calculándolo si aún no está en la tabla.
+   * El estado devuelto puede pertenecer a una tabla nueva si se llegó al límite de memoria,
+   * por lo que solo se debe conservar el último estado.
+   * @param estado Estado actual
+   * @param simbolo Simbolo que se lee
+   * @return El estado siguiente, o MUERTO si ya no se puede llegar a un estado final
+   */
+  int avanzar(int estado, char simbolo) {
+    int columna = clases.clase(simbolo);
+    // Un simbolo fuera del alfabeto no tiene transiciones, en búsqueda se vuelve a empezar
+    if (columna < 0) return busqueda ? estadoInicial() : MUERTO;
+
+    int siguiente = tabla[estado * numeroClases + columna];
+    return siguiente != DESCONOCIDO ? siguiente : calcularTransicion(estado, columna);
+  }
+
+  /**
+   * Verificar si un estado del AFD es final
+   * @param estado Estado del AFD, no puede ser MUERTO
+   * @return True si contiene un estado final del AFN
+   */
+  boolean esFinal(int estado) { return finales[estado]; }
+
+  /**
+   * Obtener los estados del AFN que forman un estado del AFD
+   * @param estado Estado del AFD, no puede ser MUERTO
+   * @return Los indices de los estados del AFN ordenados, no se debe modificar
+   */
+  int[] getSubconjunto(int estado) { return subconjuntos[estado].getEstados(); }
+
+  /**
+   * Calcular la transición de un estado con un simbolo y guardarla en la tabla.
+   * Si el estado destino no cabe en la tabla, la tabla se vacía y el estado destino es el primero de la nueva tabla.
+   * @param estado Estado de origen
+   * @param columna Clase del simbolo
+   * @return El estado destino, o MUERTO si no hay transición
+   */
+  private int calcularTransicion(int estado, int columna) {
+    actuales.limpiar();
+    for (int q : subconjuntos[estado].getEstados()) actuales.agregar(q);
+    // Todos los simbolos de la clase tienen las mismas transiciones
+    simulador.avanzar(actuales, clases.getRepresentante(columna), siguientes);
+    if (busqueda) simulador.agregarCerradura(simulador.getEstadoInicial(), siguientes);
+
+    int reiniciosAntes = reinicios;
+    int destino = siguientes.estaVacio() ? MUERTO : buscarOCrearEstado(siguientes);
+    // Si la tabla se reinició, el estado de origen ya no existe y no se guarda la transición
+    if (reinicios == reiniciosAntes) tabla[estado * numeroClases + columna] = destino;
+    return destino;
+  }
+
+  /**
+   * Encontrar el estado del AFD que corresponde a un conjunto de estados del AFN, o crearlo si no existe
+   * @param conjunto Estados del AFN
+   * @return El estado del AFD
+   */
+  private int buscarOCrearEstado(ConjuntoDisperso conjunto) {
+    // Los estados se ordenan para que el mismo conjunto siempre tenga la misma clave
+    Subconjunto clave = Subconjunto.de(conjunto, ordenados);
+    int n = clave.getEstados().length;
+
+    Integer existente = indices.get(clave);
+    if (existente != null) return existente;
+
+    long memoria = 4L * n + MEMORIA_POR_ESTADO;
+    // Lo que queda del límite para las filas de los arreglos, si ya no caben todas la tabla se vacía
+    long disponible = limiteMemoria - memoriaUsada - memoria;
+    int capacidad = subconjuntos.length;
+    if (numeroEstados == capacidad) {
+      // Crecer al doble, o solo hasta donde quepa en el límite
+      long caben = Math.max(disponible, 0) / memoriaPorFila;
+      capacidad = (int) Math.min(Math.min(2L * capacidad, maximoFilas), caben);
+    }
+    if (numeroEstados > 0 && (capacidad <= numeroEstados || capacidad * memoriaPorFila > disponible)) {
+      reiniciar();
+      reinicios++;
+      capacidad = subconjuntos.length;
+    }
+    return crearEstado(clave, memoria, capacidad);
+  }
+
+  /**
+   * Agregar un estado nuevo a la tabla, con todas sus transiciones desconocidas
+   * @param clave Estados del AFN que forman el estado
+   * @param memoria Memoria que ocupa el estado, sin su fila
+   * @param capacidad Capacidad de los arreglos, mayor al número de estados
+   * @return El indice del estado creado
+   */
+  private int crearEstado(Subconjunto clave, long memoria, int capacidad) {
+    if (capacidad > subconjuntos.length) {
+      subconjuntos = Arrays.copyOf(subconjuntos, capacidad);
+      finales = Arrays.copyOf(finales, capacidad);
+      int tamanoAnterior = tabla.length;
+      tabla = Arrays.copyOf(tabla, capacidad * numeroClases);
+      Arrays.fill(tabla, tamanoAnterior, tabla.length, DESCONOCIDO);
+    }
+
+    int estado = numeroEstados++;
+    subconjuntos[estado] = clave;
+    finales[estado] = simulador.contieneFinal(clave.getEstados());
+    indices.put(clave, estado);
+    memoriaUsada += memoria;
+    return estado;
+  }
+
+  /**
+   * Vaciar la tabla y olvidar todos los estados creados.
+   * Los arreglos conservan su capacidad, que ya cabe en el límite y se sigue contando en él.
+   */
+  private void reiniciar() {
+    Arrays.fill(tabla, DESCONOCIDO);
+    Arrays.fill(subconjuntos, null);
+    indices.clear();
+    numeroEstados = 0;
+    memoriaUsada = 0;
+    estadoInicial = DESCONOCIDO;
+  }
+
+  /**
+   * Obtener el número de estados creados desde el último reinicio
+   * @return Número de estados en la tabla
+   */
+  public int getNumeroEstados() { return numeroEstados; }
+
+  /**
+   * Obtener cuántas veces se ha vaciado la tabla por llegar al límite de memoria
+   * @return Número de reinicios
+   */
+  public int getReinicios() { return reinicios; }
+
+  /**
+   * Obtener la memoria que se cuenta contra el límite: la reservada en los arreglos más la de los estados creados
+   * @return Memoria aproximada en bytes
+   */
+  long getMemoria() { return subconjuntos.length * memoriaPorFila + memoriaUsada; }
+}
@@ -0,0 +1,221 @@
+package convertidor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Clase para representar un Autómata Finito No Determinista.
+ * Contiene todos los elementos de su quíntuplo.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ */
+public class AFN {
+  /** Conjunto de simbolos del alfabeto */
+  private final HashSet<Character> alfabeto;
+  /** Todos los estados, cada uno en la posición de su número */
+  private final ArrayList<Estado> estados;
+  /** Estao incial del AFN */
+  private final Estado estadoInicial;
+  /** Números de los estados finales del AFN */
+  private final BitSet estadosFinales;
+  /** Arreglo de transiciones */
+  private final ArrayList<Transicion> transiciones;
+  /** Transiciones agrupadas por estado de origen, se crea la primera vez que se pide y se olvida al modificar el AFN */
+  private volatile IndiceAdyacencia indice;
+
+  /**
+   * Instanciar un Autómata Finito Determinista
+   * @param i Estado inicial del AFN
+   * @param f Estado final del AFN
+   */
+  public AFN(Estado i, Estado f) {
+    this(i);
+    if (f.getNumero() != 1) throw new IllegalArgumentException("El estado final debe ser q1");
+    this.estados.add(f);
+    this.estadosFinales.set(1);
+  }
+
+  /**
+   * Instanciar un Autómata Finito sin estados finales, para agregarlos después
+   * @param i Estado inicial del AFN, debe ser q0
+   * @see #crearEstadoFinal()
+   */
+  public AFN(Estado i) {
+    if (i.getNumero() != 0) throw new IllegalArgumentException("El estado inicial debe ser q0");
+    this.alfabeto = new HashSet<>();
+    this.estadoInicial = i;
+    this.estadosFinales = new BitSet();
+    this.estados = new ArrayList<>();
+    this.estados.add(this.estadoInicial);
+    this.transiciones = new ArrayList<>();
+  }
+
+  /**
+   * Marcar un estado del AFN como final
+   * @param f Estado final, puede ser también el estado inicial
+   */
+  public void agregarEstadoFinal(Estado f) {
+    if (f.getNumero() >= this.estados.size() || this.estados.get(f.getNumero()) != f)
+      throw new IllegalArgumentException("El estado " + f.getNombre() + " no es parte del AFN");
+    this.estadosFinales.set(f.getNumero());
+  }
+
+  /**
+   * Crear un estado no final y guardarlo en el conjunto de estados
+   * @return El estado creado
+   */
+  public Estado crearEstado() { return this.crearEstado(Estado.TiposEstados.NOFINAL); }
+
+  /**
+   * Crear un estado final y guardarlo en el conjunto de estados y en el de estados finales
+   * @return El estado creado
+   */
+  public Estado crearEstadoFinal() {
+    Estado q = this.crearEstado(Estado.TiposEstados.FINAL);
+    this.estadosFinales.set(q.getNumero());
+    return q;
+  }
+
+  /**
+   * Crear un estado con el siguiente número disponible
+   * @param tipo Tipo del estado
+   * @return El estado creado
+   */
+  private Estado crearEstado(Estado.TiposEstados tipo) {
+    // El número del estado es su posición en el arreglo de estados
+    Estado q = new Estado(this.estados.size(), tipo);
+    this.estados.add(q);
+    this.indice = null;
+    return q;
+  }
+
+  /**
+   * Crear una transición y guardarla en el arreglo de transiciones
+   * @param estadoOrigen Estado de donde parte la transición
+   * @param expresionRegular Expresión que transiciona
+   * @param estadoDestino Estado a donde llegará la transición
+   * @return La transición creada
+   */
+  public Transicion crearTransicion(Estado estadoOrigen, Expresion expresionRegular, Estado estadoDestino) {
+    Transicion t = new Transicion(estadoOrigen, expresionRegular, estadoDestino);
+    this.transiciones.add(t);
+    this.indice = null;
+    return t;
+  }
+
+  /**
+   * Generar el conjunto de simbolos del alfabeto de la ER.
+   * Ignora los metacaracteres de unión, cerradura de Kleene y de agrupación,
+   * todo lo demás se considera parte del alfabeto.
+   * @param expresionRegular Expresión Regular inicial
+   */
+  public void calcularAlfabeto(String expresionRegular) {
+    // Recorrer los caracteres y agregar los que no son metacaracteres () [] + | , *
+    // Al ser un HashSet, los simbolos repetidos no se agregaran
+    for (int i = 0; i < expresionRegular.length(); i++) {
+      char simbolo = expresionRegular.charAt(i);
+      switch (simbolo) {
+        case '(', ')', '[', ']', '+', '*', ',', '|' -> { }
+        default -> this.alfabeto.add(simbolo);
+      }
+    }
+  }
+
+  /**
+   * Obtener los estados, cada uno en la posición de su número
+   * @return Los estados del AFN, sin poder modificarlos
+   */
+  public List<Estado> getEstados() { return Collections.unmodifiableList(this.estados); }
+
+  /**
+   * Obtener el número de estados
+   * @return El número de estados del AFN
+   */
+  public int getNumeroEstados() { return this.estados.size(); }
+
+  /**
+   * Obtener el estado inicial
+   * @return El estado inicial del AFN
+   */
+  public Estado getEstadoInicial() { return this.estadoInicial; }
+
+  /**
+   * Verificar si un estado es final
+   * @param numero Número del estado
+   * @return True si el estado es final
+   */
+  public boolean esFinal(int numero) { return this.estadosFinales.get(numero); }
+
+  /**
+   * Obtener las transiciones, incluyendo las que aún tienen expresiones no minimas
+   * @return Las transiciones del AFN, sin poder modificarlas
+   */
+  public List<Transicion> getTransiciones() { return Collections.unmodifiableList(this.transiciones); }
+
+  /**
+   * Obtener las transiciones agrupadas por estado de origen, para recorrer las que salen de un estado
+   * en O(grado de salida). Se construye una sola vez en O(V + E) y la comparten todos los que la piden,
+   * solo se vuelve a construir si después se agregan estados o transiciones.
+   * Si dos hilos la piden a la vez la primera vez, los dos pueden construirla, pero el resultado es el mismo.
+   * @return El índice de adyacencia del AFN
+   * @see IndiceAdyacencia
+   */
+  public IndiceAdyacencia getIndice() {
+    IndiceAdyacencia actual = indice;
+    if (actual == null) {
+      actual = new IndiceAdyacencia(this);
+      indice = actual;
+    }
+    return actual;
+  }
+
+  /**
+   * Obtener el conjunto de simbolos del alfabeto
+   * @return Los simbolos del AFN, sin poder modificarlos
+   */
+  public Set<Character> getAlfabeto() { return Collections.unmodifiableSet(this.alfabeto); }
+
+  /**
+   * Crear un AFN equivalente sin transiciones de palabra vacía.
+   * Las cerraduras de palabra vacía se calculan una sola vez y los estados que ya no se alcanzan se eliminan,
+   * así al reconocer nunca se recorren transiciones de palabra vacía y la tabla D es más pequeña.
+   * @return Un AFN nuevo, este no se modifica
+   * @see EliminadorPalabrasVacias
+   */
+  public AFN sinPalabrasVacias() { return EliminadorPalabrasVacias.eliminar(this); }
+
+  /**
+   * Crear un simulador para reconocer palabras con el AFN ya convertido
+   * @return El simulador del AFN
+   * @see SimuladorAFN
+   */
+  public SimuladorAFN crearSimulador() { return new SimuladorAFN(this); }
+
+  /**
+   * Crear el reconocedor más rápido para el AFN ya convertido.
+   * Con hasta 64 estados se usa la simulación paralela de bits, con más la simulación con conjuntos.
+   * @return El reconocedor del AFN
+   * @see SimuladorBits
+   */
+  public Reconocedor crearReconocedor() {
+    return SimuladorBits.esAplicable(this) ? new SimuladorBits(this) : crearSimulador();
+  }
+
+  /**
+   * Obtener el quíntuplo del AFN.
+   * Para escribir AFN grandes conviene usar EscritorAFN directamente, sin crear el String completo.
+   * @return El String del quíntuplo
+   * @see EscritorAFN
+   */
+  @Override
+  public String toString() {
+    StringBuilder quintuplo = new StringBuilder();
+    try {
+      EscritorAFN.escribirTexto(this, quintuplo);
+    } catch (IOException e) {
+      // Un StringBuilder nunca lanza IOException
+      throw new UncheckedIOException(e);
+    }
+    return quintuplo.toString();
+  }
+}
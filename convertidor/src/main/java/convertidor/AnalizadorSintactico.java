@@ -0,0 +1,363 @@
+package convertidor;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Clase que analiza una expresión regular y construye su árbol sintáctico en una sola pasada.
+ * Primero empareja los () y [] en un arreglo de posiciones, después cada nodo solo recorre
+ * los caracteres de su nivel, saltando las agrupaciones, por lo que el tiempo crece linealmente con la longitud.
+ * <p>
+ * Las subexpresiones con el mismo texto comparten un solo nodo (hash-consing): antes de clasificar un hijo se
+ * busca su texto en una tabla, y si ya se analizó en otra posición se reutiliza el nodo con todo su subárbol.
+ * Así en expresiones generadas que repiten (a+b) decenas de veces solo se clasifica y se crea la primera copia,
+ * y el árbol ocupa memoria proporcional a las subexpresiones distintas. El hash de cada rango se obtiene en O(1)
+ * con los hashes de los prefijos, y al encontrarlo se compara el texto para no confundir dos rangos distintos.
+ * Compartir nodos es seguro porque son inmutables y no dependen de su posición, solo de su texto.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see NodoExpresion
+ */
+public class AnalizadorSintactico {
+  /** Expresión regular a analizar */
+  private final String fuente;
+  /** Para cada caracter de apertura, la posición de su caracter de cierre */
+  private final int[] pares;
+  /** Auxiliar para las posiciones de inicio y fin de los hijos de un nodo mientras se clasifica */
+  private final int[] rangos;
+  /** Hash del prefijo de cada longitud, se calculan al buscar el primer hijo */
+  private int[] prefijos;
+  /** Potencias de la base del hash */
+  private int[] potencias;
+  /** Tabla de direccionamiento abierto con los nodos ya construidos, null en las posiciones libres */
+  private NodoExpresion[] nodos;
+  /** Hash del texto de cada nodo de la tabla */
+  private int[] hashes;
+  /** Posición del primer caracter del rango de cada nodo, antes de quitar la agrupación externa */
+  private int[] iniciosNodos;
+  /** Longitud del rango de cada nodo de la tabla */
+  private int[] longitudes;
+  /** Número de nodos en la tabla */
+  private int numeroNodos;
+
+  /** Base del hash polinomial, los hashes se calculan módulo 2^32 */
+  private static final int BASE = 0x9E3779B9;
+  /** Capacidad inicial de la tabla, siempre es potencia de 2 */
+  private static final int CAPACIDAD_INICIAL = 16;
+
+  /**
+   * Instanciar un analizador
+   * @param fuente Expresión regular a analizar
+   * @param pares Posiciones de cierre de cada agrupación
+   */
+  private AnalizadorSintactico(String fuente, int[] pares) {
+    this.fuente = fuente;
+    this.pares = pares;
+    // Un nodo tiene a lo más un hijo por caracter más uno
+    this.rangos = new int[2 * (fuente.length() + 1)];
+  }
+
+  /**
+   * Construir el árbol sintáctico de una expresión regular.
+   * Si los () o [] no están balanceados, devuelve un nodo inválido con toda la expresión.
+   * @param expresionRegular Expresión regular a analizar
+   * @return El nodo raíz del árbol
+   */
+  public static NodoExpresion analizar(String expresionRegular) {
+    int[] pares = emparejarAgrupaciones(expresionRegular);
+    if (pares == null)
+      return new NodoExpresion(
+              expresionRegular, 0, expresionRegular.length(), NodoExpresion.TiposExpresion.INVALIDA, null
+      );
+
+    return new AnalizadorSintactico(expresionRegular, pares).analizarRango(0, expresionRegular.length());
+  }
+
+  /**
+   * Encontrar el caracter de cierre de cada caracter de apertura
+   * Ejemplo: [(a)] -> 0 con 4, 1 con 3
+   * @param expresionRegular Expresión regular a examinar
+   * @return Arreglo donde en la posición de cada ( o [ está la posición de su ) o ], null si no están balanceados
+   */
+  private static int[] emparejarAgrupaciones(String expresionRegular) {
+    int[] pares = new int[expresionRegular.length()];
+    // Pila de posiciones de los caracteres de apertura
+    int[] pila = new int[expresionRegular.length()];
+    int cima = 0;
+
+    for (int i = 0; i < expresionRegular.length(); i++) {
+      char c = expresionRegular.charAt(i);
+
+      if (esApertura(c)) pila[cima++] = i;
+
+      if (c == ')' || c == ']') {
+        if (cima == 0) return null;
+        int apertura = pila[--cima];
+        // El caracter de apertura debe corresponder al de cierre
+        if ((c == ')') != (expresionRegular.charAt(apertura) == '(')) return null;
+        pares[apertura] = i;
+      }
+    }
+
+    return cima == 0 ? pares : null;
+  }
+
+  /**
+   * Construir el árbol de una subexpresión sin recursión, para no llenar la pila de llamadas
+   * con expresiones muy anidadas. Cada marco de la pila es un nodo al que le faltan hijos por construir,
+   * el nodo se crea al terminar su ultimo hijo. Los hijos cuyo texto ya se analizó reutilizan ese nodo.
+   * @param inicio Posición del primer caracter
+   * @param fin Posición después del ultimo caracter
+   * @return El nodo de la subexpresión
+   */
+  private NodoExpresion analizarRango(int inicio, int fin) {
+    ArrayDeque<Marco> pila = new ArrayDeque<>();
+    pila.push(clasificar(inicio, fin));
+
+    while (true) {
+      Marco marco = pila.peek();
+      int k = marco.siguiente;
+      if (k < marco.hijos.length) {
+        int inicioHijo = marco.rangos[2 * k], finHijo = marco.rangos[2 * k + 1];
+        // Un simbolo se crea más rápido de lo que se encuentra en la tabla
+        if (finHijo - inicioHijo == 1) {
+          pila.push(clasificar(inicioHijo, finHijo));
+          continue;
+        }
+        int hash = hash(inicioHijo, finHijo);
+        NodoExpresion existente = buscar(inicioHijo, finHijo, hash);
+        if (existente != null) marco.hijos[marco.siguiente++] = existente;
+        else {
+          Marco hijo = clasificar(inicioHijo, finHijo);
+          hijo.inicioRango = inicioHijo;
+          hijo.finRango = finHijo;
+          hijo.hash = hash;
+          pila.push(hijo);
+        }
+        continue;
+      }
+
+      pila.pop();
+      NodoExpresion nodo = new NodoExpresion(
+              fuente, marco.inicio, marco.fin, marco.tipo, marco.hijos.length == 0 ? null : marco.hijos
+      );
+      if (pila.isEmpty()) return nodo;
+      if (marco.finRango >= 0) guardar(marco.inicioRango, marco.finRango, marco.hash, nodo);
+      Marco padre = pila.peek();
+      padre.hijos[padre.siguiente++] = nodo;
+    }
+  }
+
+  /**
+   * Calcular el hash del texto de un rango en O(1).
+   * La primera vez se calculan los hashes de los prefijos, así las expresiones sin hijos no los necesitan.
+   * @param inicio Posición del primer caracter
+   * @param fin Posición después del ultimo caracter
+   * @return El hash del texto, igual para todos los rangos con el mismo texto
+   */
+  private int hash(int inicio, int fin) {
+    if (nodos == null) {
+      int n = fuente.length();
+      prefijos = new int[n + 1];
+      potencias = new int[n + 1];
+      potencias[0] = 1;
+      for (int i = 0; i < n; i++) {
+        prefijos[i + 1] = prefijos[i] * BASE + fuente.charAt(i);
+        potencias[i + 1] = potencias[i] * BASE;
+      }
+      nodos = new NodoExpresion[CAPACIDAD_INICIAL];
+      hashes = new int[CAPACIDAD_INICIAL];
+      iniciosNodos = new int[CAPACIDAD_INICIAL];
+      longitudes = new int[CAPACIDAD_INICIAL];
+    }
+    return prefijos[fin] - prefijos[inicio] * potencias[fin - inicio];
+  }
+
+  /**
+   * Buscar el nodo de un texto que ya se analizó en otra posición
+   * @param inicio Posición del primer caracter
+   * @param fin Posición después del ultimo caracter
+   * @param hash Hash del texto del rango
+   * @return El nodo con el mismo texto, null si no lo hay
+   */
+  private NodoExpresion buscar(int inicio, int fin, int hash) {
+    int mascara = nodos.length - 1;
+    for (int i = posicion(hash, mascara); nodos[i] != null; i = (i + 1) & mascara) {
+      // Dos textos distintos pueden tener el mismo hash, por eso también se comparan los caracteres
+      if (hashes[i] == hash && longitudes[i] == fin - inicio
+              && fuente.regionMatches(inicio, fuente, iniciosNodos[i], fin - inicio))
+        return nodos[i];
+    }
+    return null;
+  }
+
+  /**
+   * Agregar un nodo a la tabla, se duplica su capacidad al llenarse a la mitad
+   * @param inicio Posición del primer caracter del rango
+   * @param fin Posición después del ultimo caracter del rango
+   * @param hash Hash del texto del rango
+   * @param nodo Nodo del rango
+   */
+  private void guardar(int inicio, int fin, int hash, NodoExpresion nodo) {
+    if (2 * (numeroNodos + 1) > nodos.length) crecer();
+    int mascara = nodos.length - 1;
+    int i = posicion(hash, mascara);
+    while (nodos[i] != null) i = (i + 1) & mascara;
+    nodos[i] = nodo;
+    hashes[i] = hash;
+    iniciosNodos[i] = inicio;
+    longitudes[i] = fin - inicio;
+    numeroNodos++;
+  }
+
+  /** Duplicar la capacidad de la tabla, acomodando de nuevo sus nodos */
+  private void crecer() {
+    NodoExpresion[] anteriores = nodos;
+    int[] hashesAnteriores = hashes, iniciosAnteriores = iniciosNodos, longitudesAnteriores = longitudes;
+    int capacidad = 2 * anteriores.length, mascara = capacidad - 1;
+    nodos = new NodoExpresion[capacidad];
+    hashes = new int[capacidad];
+    iniciosNodos = new int[capacidad];
+    longitudes = new int[capacidad];
+    for (int j = 0; j < anteriores.length; j++) {
+      if (anteriores[j] == null) continue;
+      int i = posicion(hashesAnteriores[j], mascara);
+      while (nodos[i] != null) i = (i + 1) & mascara;
+      nodos[i] = anteriores[j];
+      hashes[i] = hashesAnteriores[j];
+      iniciosNodos[i] = iniciosAnteriores[j];
+      longitudes[i] = longitudesAnteriores[j];
+    }
+  }
+
+  /**
+   * Obtener la primera posición donde se busca un hash en la tabla.
+   * Se usan los bits altos después de multiplicar, porque los bajos del hash polinomial solo dependen de los
+   * bits bajos de los caracteres.
+   * @param hash Hash del texto
+   * @param mascara Capacidad de la tabla menos 1
+   * @return Posición en la tabla
+   */
+  private static int posicion(int hash, int mascara) {
+    return (hash * BASE >>> 16 ^ hash) & mascara;
+  }
+
+  /**
+   * Identificar el tipo de una subexpresión y las posiciones de sus hijos, sin construirlos.
+   * Primero se quitan los () o [] más externos, como al instanciar una Expresion,
+   * luego se identifica si es unión, concatenación o cerradura de Kleene.
+   * @param inicio Posición del primer caracter
+   * @param fin Posición después del ultimo caracter
+   * @return El marco del nodo, con sus hijos por construir
+   * @see Expresion#getExpresionRegular()
+   */
+  private Marco clasificar(int inicio, int fin) {
+    // Quitar la agrupación externa solo si el primer y ultimo caracter son pareja
+    if (fin - inicio >= 2 && esApertura(fuente.charAt(inicio)) && pares[inicio] == fin - 1) {
+      inicio++;
+      fin--;
+    }
+
+    if (fin == inicio) return new Marco(inicio, fin, NodoExpresion.TiposExpresion.VACIA, null, 0);
+    if (fin - inicio == 1) return new Marco(inicio, fin, NodoExpresion.TiposExpresion.SIMBOLO, null, 0);
+
+    // Separar uniones que estén fuera de () o []
+    int numeroHijos = 0;
+    int inicioHijo = inicio;
+    for (int i = inicio; i < fin; i++) {
+      char c = fuente.charAt(i);
+      if (esApertura(c)) i = pares[i]; // Saltar la agrupación completa
+      else if (esUnion(c)) {
+        numeroHijos = agregarRango(numeroHijos, inicioHijo, i);
+        inicioHijo = i + 1;
+      }
+    }
+    if (numeroHijos > 0) {
+      numeroHijos = agregarRango(numeroHijos, inicioHijo, fin);
+      return new Marco(inicio, fin, NodoExpresion.TiposExpresion.UNION, rangos, numeroHijos);
+    }
+
+    // Separar concatenaciones, cada pieza es un simbolo o agrupación junto con sus *
+    int i = inicio;
+    while (i < fin) {
+      inicioHijo = i;
+      i = esApertura(fuente.charAt(i)) ? pares[i] + 1 : i + 1;
+      while (i < fin && fuente.charAt(i) == '*') i++;
+      if (inicioHijo == inicio && i == fin) break; // Solo hay una pieza, no es concatenación
+      numeroHijos = agregarRango(numeroHijos, inicioHijo, i);
+    }
+    if (numeroHijos > 0) return new Marco(inicio, fin, NodoExpresion.TiposExpresion.CONCATENACION, rangos, numeroHijos);
+
+    // Una sola pieza que termina en * es cerradura de Kleene, si no, es una agrupación que ya no se quitó
+    if (fuente.charAt(fin - 1) == '*') {
+      agregarRango(0, inicio, fin - 1);
+      return new Marco(inicio, fin, NodoExpresion.TiposExpresion.CERRADURA_KLEENE, rangos, 1);
+    }
+    agregarRango(0, inicio + 1, fin - 1);
+    return new Marco(inicio, fin, NodoExpresion.TiposExpresion.AGRUPACION, rangos, 1);
+  }
+
+  /**
+   * Guardar la posición de un hijo en el arreglo auxiliar de rangos
+   * @param numeroHijos Número de hijos ya guardados
+   * @param inicio Posición del primer caracter del hijo
+   * @param fin Posición después del ultimo caracter del hijo
+   * @return El nuevo número de hijos
+   */
+  private int agregarRango(int numeroHijos, int inicio, int fin) {
+    rangos[2 * numeroHijos] = inicio;
+    rangos[2 * numeroHijos + 1] = fin;
+    return numeroHijos + 1;
+  }
+
+  /**
+   * Verificar si un caracter abre una agrupación
+   * @param c Caracter a examinar
+   * @return True si es ( o [
+   */
+  private static boolean esApertura(char c) { return c == '(' || c == '['; }
+
+  /**
+   * Verificar si un caracter es metacaracter de unión
+   * @param c Caracter a examinar
+   * @return True si es +, , o |
+   */
+  private static boolean esUnion(char c) { return c == '+' || c == ',' || c == '|'; }
+
+  /** Nodo del árbol al que le faltan hijos por construir */
+  private static class Marco {
+    /** Posición del primer caracter, ya sin la agrupación externa */
+    private final int inicio;
+    /** Posición después del ultimo caracter */
+    private final int fin;
+    /** Tipo de subexpresión */
+    private final NodoExpresion.TiposExpresion tipo;
+    /** Posiciones de inicio y fin de cada hijo, de dos en dos */
+    private final int[] rangos;
+    /** Hijos ya construidos */
+    private final NodoExpresion[] hijos;
+    /** Indice del siguiente hijo por construir */
+    private int siguiente;
+    /** Posición del primer caracter del rango con el que se guarda el nodo en la tabla */
+    private int inicioRango;
+    /** Posición después del ultimo caracter del rango, -1 si el nodo no se guarda (la raíz y los simbolos) */
+    private int finRango = -1;
+    /** Hash del texto del rango */
+    private int hash;
+
+    /**
+     * Instanciar un marco
+     * @param inicio Posición del primer caracter
+     * @param fin Posición después del ultimo caracter
+     * @param tipo Tipo de subexpresión
+     * @param rangos Arreglo con las posiciones de los hijos, se copia
+     * @param numeroHijos Número de hijos en rangos
+     */
+    Marco(int inicio, int fin, NodoExpresion.TiposExpresion tipo, int[] rangos, int numeroHijos) {
+      this.inicio = inicio;
+      this.fin = fin;
+      this.tipo = tipo;
+      this.rangos = numeroHijos == 0 ? null : Arrays.copyOf(rangos, 2 * numeroHijos);
+      this.hijos = new NodoExpresion[numeroHijos];
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package convertidor;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Clase que guarda AFN ya convertidos en un archivo binario y los carga mapeando el archivo a memoria.
+ * Al cargarlos no se vuelven a crear los estados ni las transiciones, cada autómata se reconoce directamente
+ * sobre los bytes del archivo, por lo que cargar miles de expresiones precompiladas toma milisegundos.
+ * <p>
+ * Formato, todo en enteros de 4 bytes big endian:
+ * <pre>
+ * Cabecera:  MAGICO, VERSION, número de autómatas, posición en enteros de cada autómata
+ * Autómata:  número de estados, estado inicial, número de simbolos, número de transiciones de palabra vacía,
+ *            número de transiciones con simbolo,
+ *            simbolos ordenados,
+ *            estados finales en palabras de 32 bits,
+ *            inicio de las transiciones de palabra vacía de cada estado (número de estados + 1), sus destinos,
+ *            inicio de las transiciones con simbolo de cada estado (número de estados + 1),
+ *            el indice del simbolo de cada una y sus destinos
+ * </pre>
+ * Los arreglos son los del índice de adyacencia del AFN, solo con las transiciones de expresión minima.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see AutomataMapeado
+ */
+public class ArchivoAutomatas {
+  /** Identificador al inicio del archivo, "AFNB" */
+  public static final int MAGICO = 0x41464E42;
+  /** Versión del formato que se escribe y la única que se puede cargar */
+  public static final int VERSION = 1;
+  /** Enteros de la cabecera antes de las posiciones de los autómatas */
+  static final int TAMANO_CABECERA = 3;
+  /** Enteros al inicio de cada autómata con los tamaños de sus arreglos */
+  static final int TAMANO_ENCABEZADO = 5;
+
+  /** No se instancia, solo tiene métodos estáticos */
+  private ArchivoAutomatas() {}
+
+  /**
+   * Guardar los AFN en un archivo, si ya existe se reemplaza
+   * @param automatas AFN a guardar, en este orden se cargan
+   * @param archivo Ruta del archivo
+   * @throws IOException Si no se puede escribir el archivo
+   */
+  public static void guardar(List<AFN> automatas, Path archivo) throws IOException {
+    try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archivo), 1 << 16))) {
+      salida.writeInt(MAGICO);
+      salida.writeInt(VERSION);
+      salida.writeInt(automatas.size());
+
+      long posicion = TAMANO_CABECERA + automatas.size();
+      for (AFN automata : automatas) {
+        if (posicion > Integer.MAX_VALUE) throw new IOException("Los autómatas no caben en un archivo");
+        salida.writeInt((int) posicion);
+        posicion += tamano(automata.getIndice());
+      }
+
+      for (AFN automata : automatas) escribir(automata, salida);
+    }
+  }
+
+  /**
+   * Cargar los autómatas de un archivo mapeándolo a memoria.
+   * Solo se revisa la cabecera y los tamaños de cada autómata, los arreglos se leen al reconocer.
+   * @param archivo Ruta del archivo
+   * @return Los autómatas en el orden en que se guardaron
+   * @throws IOException Si no se puede leer el archivo o no tiene el formato
+   */
+  public static List<AutomataMapeado> cargar(Path archivo) throws IOException {
+    MappedByteBuffer bytes;
+    try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+      if (canal.size() > Integer.MAX_VALUE) throw new IOException("Archivo demasiado grande: " + archivo);
+      bytes = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+    }
+
+    IntBuffer datos = bytes.asIntBuffer();
+    if (datos.limit() < TAMANO_CABECERA || datos.get(0) != MAGICO)
+      throw new IOException("El archivo no es de autómatas: " + archivo);
+    if (datos.get(1) != VERSION)
+      throw new IOException("Versión " + datos.get(1) + " no soportada, se esperaba " + VERSION + ": " + archivo);
+
+    int numeroAutomatas = datos.get(2);
+    if (numeroAutomatas < 0 || TAMANO_CABECERA + (long) numeroAutomatas > datos.limit())
+      throw new IOException("Cabecera dañada: " + archivo);
+
+    List<AutomataMapeado> automatas = new ArrayList<>(numeroAutomatas);
+    for (int i = 0; i < numeroAutomatas; i++) {
+      int posicion = datos.get(TAMANO_CABECERA + i);
+      int fin = i + 1 < numeroAutomatas ? datos.get(TAMANO_CABECERA + i + 1) : datos.limit();
+      if (posicion < TAMANO_CABECERA + numeroAutomatas || fin < posicion || fin > datos.limit())
+        throw new IOException("Posición del autómata " + i + " dañada: " + archivo);
+      automatas.add(AutomataMapeado.crear(datos.slice(posicion, fin - posicion), i, archivo));
+    }
+    return automatas;
+  }
+
+  /**
+   * Calcular cuántos enteros ocupa un autómata en el archivo
+   * @param indice Transiciones del AFN agrupadas por origen
+   * @return Número de enteros
+   */
+  private static long tamano(IndiceAdyacencia indice) {
+    int n = indice.getNumeroEstados();
+    return TAMANO_ENCABEZADO + indice.getSimbolos().length + palabrasFinales(n)
+            + 2L * (n + 1) + indice.getNumeroTransicionesVacias() + 2L * indice.getNumeroTransicionesSimbolos();
+  }
+
+  /**
+   * Escribir un autómata
+   * @param automata AFN ya convertido
+   * @param salida Donde se escribe
+   * @throws IOException Si no se puede escribir
+   */
+  private static void escribir(AFN automata, DataOutputStream salida) throws IOException {
+    IndiceAdyacencia indice = automata.getIndice();
+    int n = indice.getNumeroEstados();
+    char[] simbolos = indice.getSimbolos();
+    int[] destinosVacios = indice.getDestinosVacios();
+    char[] simbolosTransiciones = indice.getSimbolosTransiciones();
+    int[] destinosSimbolos = indice.getDestinosSimbolos();
+
+    salida.writeInt(n);
+    salida.writeInt(automata.getEstadoInicial().getNumero());
+    salida.writeInt(simbolos.length);
+    salida.writeInt(destinosVacios.length);
+    salida.writeInt(destinosSimbolos.length);
+
+    for (char simbolo : simbolos) salida.writeInt(simbolo);
+
+    int[] finales = new int[palabrasFinales(n)];
+    for (int q = 0; q < n; q++)
+      if (automata.esFinal(q)) finales[q >>> 5] |= 1 << q;
+    escribir(finales, salida);
+
+    escribir(indice.getInicioVacias(), salida);
+    escribir(destinosVacios, salida);
+    escribir(indice.getInicioSimbolos(), salida);
+    for (char simbolo : simbolosTransiciones) salida.writeInt(Arrays.binarySearch(simbolos, simbolo));
+    escribir(destinosSimbolos, salida);
+  }
+
+  /**
+   * Escribir un arreglo de enteros
+   * @param arreglo Enteros a escribir
+   * @param salida Donde se escribe
+   * @throws IOException Si no se puede escribir
+   */
+  private static void escribir(int[] arreglo, DataOutputStream salida) throws IOException {
+    for (int valor : arreglo) salida.writeInt(valor);
+  }
+
+  /**
+   * Calcular cuántas palabras de 32 bits se necesitan para marcar los estados finales
+   * @param numeroEstados Número de estados
+   * @return Número de palabras
+   */
+  static int palabrasFinales(int numeroEstados) { return (numeroEstados + 31) >>> 5; }
+}
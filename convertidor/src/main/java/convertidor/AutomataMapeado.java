@@ -0,0 +1,192 @@
+package convertidor;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+
+/**
+ * Clase que reconoce palabras con un AFN cargado de un archivo binario, leyendo sus arreglos directamente
+ * del archivo mapeado a memoria. La simulación es la misma que la de SimuladorAFN, solo que los simbolos
+ * se buscan en la tabla ordenada del archivo y las transiciones se indexan por su posición en ella.
+ * Los conjuntos de estados se crean hasta la primera palabra, así cargar el archivo no reserva memoria
+ * por cada autómata. No se debe usar desde varios hilos a la vez.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see ArchivoAutomatas
+ */
+public class AutomataMapeado implements Reconocedor {
+  /** Enteros del autómata en el archivo */
+  private final IntBuffer datos;
+  /** Número de estados */
+  private final int numeroEstados;
+  /** Indice del estado inicial */
+  private final int estadoInicial;
+  /** Número de simbolos distintos */
+  private final int numeroSimbolos;
+  /** Donde inician los simbolos ordenados */
+  private final int simbolos;
+  /** Donde inician las palabras con los estados finales */
+  private final int finales;
+  /** Donde inicia el inicio de las transiciones de palabra vacía de cada estado */
+  private final int inicioVacias;
+  /** Donde inician los destinos de las transiciones de palabra vacía */
+  private final int destinosVacios;
+  /** Donde inicia el inicio de las transiciones con simbolo de cada estado */
+  private final int inicioSimbolos;
+  /** Donde inicia el indice del simbolo de cada transición */
+  private final int columnas;
+  /** Donde inician los destinos de las transiciones con simbolo */
+  private final int destinosSimbolos;
+
+  /** Estados activos */
+  private ConjuntoDisperso actuales;
+  /** Estados alcanzados con el siguiente simbolo */
+  private ConjuntoDisperso siguientes;
+  /** Pila para calcular las cerraduras de palabra vacía */
+  private int[] pila;
+
+  /**
+   * Instanciar un autómata sobre sus enteros, ya con los tamaños revisados
+   * @param datos Enteros del autómata
+   */
+  private AutomataMapeado(IntBuffer datos) {
+    this.datos = datos;
+    this.numeroEstados = datos.get(0);
+    this.estadoInicial = datos.get(1);
+    this.numeroSimbolos = datos.get(2);
+    this.simbolos = ArchivoAutomatas.TAMANO_ENCABEZADO;
+    this.finales = simbolos + numeroSimbolos;
+    this.inicioVacias = finales + ArchivoAutomatas.palabrasFinales(numeroEstados);
+    this.destinosVacios = inicioVacias + numeroEstados + 1;
+    this.inicioSimbolos = destinosVacios + datos.get(3);
+    this.columnas = inicioSimbolos + numeroEstados + 1;
+    this.destinosSimbolos = columnas + datos.get(4);
+  }
+
+  /**
+   * Crear un autómata revisando que sus tamaños coincidan con los enteros que ocupa en el archivo.
+   * Los indices de los arreglos no se revisan, para no leer todo el archivo al cargarlo.
+   * @param datos Enteros del autómata
+   * @param numero Posición del autómata en el archivo, para el mensaje de error
+   * @param archivo Ruta del archivo, para el mensaje de error
+   * @return El autómata
+   * @throws IOException Si los tamaños no coinciden
+   */
+  static AutomataMapeado crear(IntBuffer datos, int numero, Path archivo) throws IOException {
+    if (datos.limit() >= ArchivoAutomatas.TAMANO_ENCABEZADO) {
+      int n = datos.get(0), inicial = datos.get(1);
+      long tamano = ArchivoAutomatas.TAMANO_ENCABEZADO + (long) datos.get(2) + ArchivoAutomatas.palabrasFinales(n)
+              + 2L * (n + 1) + datos.get(3) + 2L * datos.get(4);
+      if (n > 0 && inicial >= 0 && inicial < n && Math.min(datos.get(2), Math.min(datos.get(3), datos.get(4))) >= 0
+              && tamano == datos.limit())
+        return new AutomataMapeado(datos);
+    }
+    throw new IOException("Autómata " + numero + " dañado: " + archivo);
+  }
+
+  /**
+   * Verificar si el AFN acepta la palabra completa
+   * @param palabra Palabra a reconocer
+   * @return True si al terminar de leer la palabra hay algún estado final activo
+   */
+  @Override
+  public boolean acepta(CharSequence palabra) {
+    if (pila == null) {
+      actuales = new ConjuntoDisperso(numeroEstados);
+      siguientes = new ConjuntoDisperso(numeroEstados);
+      pila = new int[numeroEstados];
+    }
+
+    boolean medir = Metricas.medir();
+    long inicio = medir ? System.nanoTime() : 0;
+    actuales.limpiar();
+    agregarCerradura(estadoInicial, actuales);
+    long visitados = actuales.tamano();
+
+    int i = 0;
+    for (; i < palabra.length() && !actuales.estaVacio(); i++) {
+      int columna = buscarSimbolo(palabra.charAt(i));
+      // Un simbolo que no está en el alfabeto deja el conjunto vacío
+      if (columna < 0) actuales.limpiar();
+      else avanzar(columna);
+      visitados += actuales.tamano();
+    }
+
+    boolean aceptada = false;
+    for (int k = 0; k < actuales.tamano() && !aceptada; k++) aceptada = esFinal(actuales.get(k));
+    if (medir)
+      Metricas.global().registrarReconocimiento(Metricas.TiposReconocedor.AUTOMATA_MAPEADO, inicio, i, visitados);
+    return aceptada;
+  }
+
+  /**
+   * Calcular los estados a los que se llega leyendo un simbolo e intercambiar los conjuntos
+   * @param columna Indice del simbolo en la tabla
+   */
+  private void avanzar(int columna) {
+    siguientes.limpiar();
+    for (int i = 0; i < actuales.tamano(); i++) {
+      int q = actuales.get(i);
+      for (int k = datos.get(inicioSimbolos + q), fin = datos.get(inicioSimbolos + q + 1); k < fin; k++)
+        if (datos.get(columnas + k) == columna) agregarCerradura(datos.get(destinosSimbolos + k), siguientes);
+    }
+
+    ConjuntoDisperso aux = actuales;
+    actuales = siguientes;
+    siguientes = aux;
+  }
+
+  /**
+   * Agregar un estado y todos los que se alcanzan desde él con transiciones de palabra vacía
+   * @param estado Estado a agregar
+   * @param conjunto Conjunto donde se agregan los estados
+   */
+  private void agregarCerradura(int estado, ConjuntoDisperso conjunto) {
+    if (!conjunto.agregar(estado)) return;
+    int cima = 0;
+    pila[cima++] = estado;
+
+    while (cima > 0) {
+      int q = pila[--cima];
+      for (int k = datos.get(inicioVacias + q), fin = datos.get(inicioVacias + q + 1); k < fin; k++) {
+        int destino = datos.get(destinosVacios + k);
+        if (conjunto.agregar(destino)) pila[cima++] = destino;
+      }
+    }
+  }
+
+  /**
+   * Buscar un simbolo en la tabla ordenada del archivo
+   * @param simbolo Simbolo a buscar
+   * @return Su indice en la tabla, o -1 si no está
+   */
+  private int buscarSimbolo(char simbolo) {
+    int bajo = 0, alto = numeroSimbolos - 1;
+    while (bajo <= alto) {
+      int medio = (bajo + alto) >>> 1;
+      int valor = datos.get(simbolos + medio);
+      if (valor < simbolo) bajo = medio + 1;
+      else if (valor > simbolo) alto = medio - 1;
+      else return medio;
+    }
+    return -1;
+  }
+
+  /**
+   * Verificar si un estado es final
+   * @param estado Indice del estado
+   * @return True si es final
+   */
+  public boolean esFinal(int estado) { return (datos.get(finales + (estado >>> 5)) & 1 << estado) != 0; }
+
+  /**
+   * Obtener el número de estados del AFN
+   * @return Número de estados
+   */
+  public int getNumeroEstados() { return numeroEstados; }
+
+  /**
+   * Obtener el indice del estado inicial
+   * @return Indice del estado inicial
+   */
+  public int getEstadoInicial() { return estadoInicial; }
+}
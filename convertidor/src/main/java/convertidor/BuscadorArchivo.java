@@ -0,0 +1,338 @@
+package convertidor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Clase que busca las líneas de un archivo que contienen una coincidencia de la expresión regular, como grep.
+ * El archivo se mapea a memoria con FileChannel.map y el AFD perezoso avanza directamente sobre los bytes mapeados,
+ * cada byte se toma como un caracter Latin-1. Las líneas que coinciden se copian a la salida sin crear un String.
+ * Los archivos más grandes que una ventana se recorren en varias ventanas que terminan en un salto de línea,
+ * de una línea más grande que una ventana solo se escribe la parte que está en la última ventana.
+ * En paralelo cada ventana se divide en trozos que terminan en un salto de línea y se recorren en un ForkJoinPool,
+ * cada hilo con su propio AFD, y las coincidencias se escriben al final en el orden del archivo.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see AFDPerezoso#paraBusqueda(AFN)
+ */
+public class BuscadorArchivo {
+  /** Tamaño máximo de cada ventana mapeada, en bytes */
+  private static final long TAMANO_VENTANA = 1L << 30;
+  /** Tamaño a partir del cual un trozo se divide en dos, en bytes */
+  private static final int TAMANO_TROZO = 1 << 19;
+
+  /** AFN de la expresión regular, para crear el AFD de cada hilo */
+  private final AFN automata;
+  /** AFD que busca las coincidencias en el hilo que llama */
+  private final AFDPerezoso afd;
+  /** Donde se escriben las líneas que coinciden */
+  private final OutputStream salida;
+  /** Si solo se escribe la posición de la línea en lugar de su contenido */
+  private final boolean soloPosiciones;
+  /** Arreglo auxiliar para copiar las líneas y los números a la salida */
+  private byte[] auxiliar;
+  /** Número de líneas que coincidieron */
+  private long coincidencias;
+  /** Estado del AFD en la línea actual */
+  private int estado;
+  /** Si la línea actual ya coincide */
+  private boolean coincide;
+  /** Número de la línea actual, empezando en 1 */
+  private long numeroLinea;
+  /** Posición de la línea actual en el archivo */
+  private long inicioLinea;
+
+  /**
+   * Instanciar un buscador
+   * @param automata AFN de la expresión regular
+   * @param salida Donde se escriben las líneas que coinciden, conviene que tenga buffer
+   * @param soloPosiciones Si se escribe número de línea y posición en bytes en lugar del contenido
+   */
+  public BuscadorArchivo(AFN automata, OutputStream salida, boolean soloPosiciones) {
+    this.automata = automata;
+    this.afd = AFDPerezoso.paraBusqueda(automata);
+    this.salida = salida;
+    this.soloPosiciones = soloPosiciones;
+    this.auxiliar = new byte[1 << 12];
+  }
+
+  /**
+   * Buscar en un archivo y escribir las líneas que coinciden con el formato línea:contenido,
+   * o línea:posición si solo se piden posiciones
+   * @param archivo Archivo donde se busca
+   * @return Número de líneas que coincidieron
+   * @throws IOException Si no se puede leer el archivo o escribir la salida
+   */
+  public long buscar(Path archivo) throws IOException { return buscar(archivo, null); }
+
+  /**
+   * Buscar en un archivo usando todos los hilos de un ForkJoinPool.
+   * La salida es la misma que la de {@link #buscar(Path)}.
+   * @param archivo Archivo donde se busca
+   * @param hilos Pool donde se recorren los trozos del archivo
+   * @return Número de líneas que coincidieron
+   * @throws IOException Si no se puede leer el archivo o escribir la salida
+   */
+  public long buscarEnParalelo(Path archivo, ForkJoinPool hilos) throws IOException {
+    return buscar(archivo, hilos);
+  }
+
+  /**
+   * Buscar en un archivo, ventana por ventana
+   * @param archivo Archivo donde se busca
+   * @param hilos Pool donde se recorren los trozos, null para recorrer todo en este hilo
+   * @return Número de líneas que coincidieron
+   * @throws IOException Si no se puede leer el archivo o escribir la salida
+   */
+  private long buscar(Path archivo, ForkJoinPool hilos) throws IOException {
+    boolean medir = Metricas.medir();
+    long inicio = medir ? System.nanoTime() : 0;
+    coincidencias = 0;
+    numeroLinea = 1;
+    inicioLinea = 0;
+    reiniciarLinea();
+    // El AFD perezoso no se puede compartir entre hilos, cada hilo del pool crea el suyo
+    ThreadLocal<AFDPerezoso> afds = hilos == null
+            ? null
+            : ThreadLocal.withInitial(() -> AFDPerezoso.paraBusqueda(automata));
+
+    try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+      long tamano = canal.size();
+      long inicioVentana = 0;
+
+      while (inicioVentana < tamano) {
+        long longitud = Math.min(TAMANO_VENTANA, tamano - inicioVentana);
+        MappedByteBuffer ventana = canal.map(FileChannel.MapMode.READ_ONLY, inicioVentana, longitud);
+
+        // Terminar la ventana en el último salto de línea, salvo que sea el final del archivo
+        int limite = (int) longitud;
+        if (inicioVentana + longitud < tamano) {
+          while (limite > 0 && ventana.get(limite - 1) != '\n') limite--;
+          if (limite == 0) limite = (int) longitud; // Una línea más grande que la ventana
+        }
+
+        if (hilos == null) recorrer(ventana, inicioVentana, 0, limite, false);
+        else {
+          // La primera línea puede venir de la ventana anterior, se termina en este hilo con el estado que ya llevaba
+          int i = recorrer(ventana, inicioVentana, 0, limite, true);
+          if (i < limite) {
+            Trozo trozo = new Trozo(ventana, i, limite, afds);
+            hilos.invoke(trozo);
+            escribir(trozo, ventana, inicioVentana, numeroLinea);
+            // El último trozo ya reportó la última línea si el archivo no termina en salto de línea
+            numeroLinea += trozo.lineas;
+            inicioLinea = inicioVentana + limite;
+            reiniciarLinea();
+          }
+        }
+
+        inicioVentana += limite;
+        // Reportar la última línea si el archivo no termina en salto de línea
+        if (inicioVentana == tamano && inicioLinea < tamano && coincide)
+          reportar(ventana, numeroLinea, inicioLinea, (int) Math.max(inicioLinea - (tamano - longitud), 0), limite);
+      }
+      salida.flush();
+      // Con el AFD se visita un estado por byte
+      if (medir)
+        Metricas.global().registrarReconocimiento(Metricas.TiposReconocedor.BUSCADOR_ARCHIVO, inicio, tamano, tamano);
+    }
+    return coincidencias;
+  }
+
+  /**
+   * Recorrer una parte de la ventana en este hilo, reportando las líneas que coinciden
+   * @param ventana Ventana mapeada
+   * @param inicioVentana Posición de la ventana en el archivo
+   * @param desde Posición dentro de la ventana donde se empieza
+   * @param hasta Posición dentro de la ventana donde se termina
+   * @param soloPrimeraLinea Si se detiene después del primer salto de línea
+   * @return Posición dentro de la ventana donde se detuvo
+   * @throws IOException Si no se puede escribir la salida
+   */
+  private int recorrer(MappedByteBuffer ventana, long inicioVentana, int desde, int hasta, boolean soloPrimeraLinea)
+          throws IOException {
+    int inicioLineaVentana = (int) Math.max(inicioLinea - inicioVentana, 0);
+    for (int i = desde; i < hasta; i++) {
+      byte b = ventana.get(i);
+      if (b == '\n') {
+        if (coincide) reportar(ventana, numeroLinea, inicioLinea, inicioLineaVentana, i);
+        numeroLinea++;
+        inicioLinea = inicioVentana + i + 1;
+        inicioLineaVentana = i + 1;
+        reiniciarLinea();
+        if (soloPrimeraLinea) return i + 1;
+        continue;
+      }
+      // Si la línea ya coincide, solo falta encontrar su final
+      if (coincide) continue;
+      estado = afd.avanzar(estado, (char) (b & 0xFF));
+      coincide = afd.esFinal(estado);
+    }
+    return hasta;
+  }
+
+  /** Volver al estado inicial al empezar una línea */
+  private void reiniciarLinea() {
+    estado = afd.estadoInicial();
+    coincide = afd.esFinal(estado);
+  }
+
+  /**
+   * Escribir las coincidencias de un trozo ya recorrido, en el orden del archivo
+   * @param trozo Trozo recorrido
+   * @param ventana Ventana mapeada del trozo
+   * @param inicioVentana Posición de la ventana en el archivo
+   * @param primeraLinea Número de la primera línea del trozo
+   * @throws IOException Si no se puede escribir la salida
+   */
+  private void escribir(Trozo trozo, MappedByteBuffer ventana, long inicioVentana, long primeraLinea)
+          throws IOException {
+    if (trozo.izquierdo != null) {
+      escribir(trozo.izquierdo, ventana, inicioVentana, primeraLinea);
+      escribir(trozo.derecho, ventana, inicioVentana, primeraLinea + trozo.izquierdo.lineas);
+      return;
+    }
+    for (int k = 0; k < trozo.numeroCoincidencias; k += 3) {
+      int linea = trozo.coincidencias[k], desde = trozo.coincidencias[k + 1], hasta = trozo.coincidencias[k + 2];
+      reportar(ventana, primeraLinea + linea, inicioVentana + desde, desde, hasta);
+    }
+  }
+
+  /**
+   * Escribir una línea que coincide
+   * @param ventana Ventana mapeada donde termina la línea
+   * @param numeroLinea Número de la línea, empezando en 1
+   * @param inicioLinea Posición de la línea en el archivo
+   * @param desde Posición dentro de la ventana desde donde se copia el contenido
+   * @param hasta Posición dentro de la ventana donde termina la línea, sin el salto de línea
+   * @throws IOException Si no se puede escribir la salida
+   */
+  private void reportar(MappedByteBuffer ventana, long numeroLinea, long inicioLinea, int desde, int hasta)
+          throws IOException {
+    coincidencias++;
+    escribirNumero(numeroLinea);
+    salida.write(':');
+    if (soloPosiciones) escribirNumero(inicioLinea);
+    else {
+      int longitud = hasta - desde;
+      if (auxiliar.length < longitud) auxiliar = new byte[Math.max(longitud, auxiliar.length * 2)];
+      ventana.get(desde, auxiliar, 0, longitud);
+      salida.write(auxiliar, 0, longitud);
+    }
+    salida.write('\n');
+  }
+
+  /**
+   * Escribir un número en decimal sin crear un String
+   * @param numero Número positivo a escribir
+   * @throws IOException Si no se puede escribir la salida
+   */
+  private void escribirNumero(long numero) throws IOException {
+    int i = 20;
+    do {
+      auxiliar[--i] = (byte) ('0' + numero % 10);
+      numero /= 10;
+    } while (numero > 0);
+    salida.write(auxiliar, i, 20 - i);
+  }
+
+  /**
+   * Parte de una ventana que empieza al inicio de una línea y termina en un salto de línea o al final del archivo.
+   * Si es grande se divide en dos trozos por un salto de línea cercano a la mitad,
+   * si no se recorre y se guardan sus coincidencias para escribirlas después.
+   */
+  @SuppressWarnings("serial") // Los trozos nunca se serializan
+  private static class Trozo extends RecursiveAction {
+    /** Ventana mapeada, solo se lee con posiciones absolutas para poder compartirla entre hilos */
+    private final MappedByteBuffer ventana;
+    /** Posición dentro de la ventana donde inicia el trozo */
+    private final int desde;
+    /** Posición dentro de la ventana donde termina el trozo */
+    private final int hasta;
+    /** AFD de cada hilo */
+    private final ThreadLocal<AFDPerezoso> afds;
+    /** Mitades del trozo, null si no se dividió */
+    private Trozo izquierdo, derecho;
+    /** Número de saltos de línea en el trozo */
+    private long lineas;
+    /** Coincidencias de tres en tres: línea relativa al trozo, inicio y fin dentro de la ventana */
+    private int[] coincidencias;
+    /** Número de enteros usados en coincidencias */
+    private int numeroCoincidencias;
+
+    /**
+     * Instanciar un trozo
+     * @param ventana Ventana mapeada
+     * @param desde Posición donde inicia, al inicio de una línea
+     * @param hasta Posición donde termina, después de un salto de línea o al final del archivo
+     * @param afds AFD de cada hilo
+     */
+    Trozo(MappedByteBuffer ventana, int desde, int hasta, ThreadLocal<AFDPerezoso> afds) {
+      this.ventana = ventana;
+      this.desde = desde;
+      this.hasta = hasta;
+      this.afds = afds;
+    }
+
+    @Override
+    protected void compute() {
+      if (hasta - desde > TAMANO_TROZO) {
+        // Cortar después del primer salto de línea a partir de la mitad
+        int corte = desde + (hasta - desde) / 2;
+        while (corte < hasta && ventana.get(corte) != '\n') corte++;
+        if (corte + 1 < hasta) {
+          izquierdo = new Trozo(ventana, desde, corte + 1, afds);
+          derecho = new Trozo(ventana, corte + 1, hasta, afds);
+          invokeAll(izquierdo, derecho);
+          lineas = izquierdo.lineas + derecho.lineas;
+          return;
+        }
+      }
+      recorrer();
+    }
+
+    /** Recorrer el trozo con el AFD del hilo actual */
+    private void recorrer() {
+      AFDPerezoso afd = afds.get();
+      coincidencias = new int[48];
+      int inicioLinea = desde;
+      int estado = afd.estadoInicial();
+      boolean coincide = afd.esFinal(estado);
+      for (int i = desde; i < hasta; i++) {
+        byte b = ventana.get(i);
+        if (b == '\n') {
+          if (coincide) agregar(inicioLinea, i);
+          lineas++;
+          inicioLinea = i + 1;
+          estado = afd.estadoInicial();
+          coincide = afd.esFinal(estado);
+          continue;
+        }
+        if (coincide) continue;
+        estado = afd.avanzar(estado, (char) (b & 0xFF));
+        coincide = afd.esFinal(estado);
+      }
+      // Última línea del archivo sin salto de línea
+      if (inicioLinea < hasta && coincide) agregar(inicioLinea, hasta);
+    }
+
+    /**
+     * Guardar una línea que coincide
+     * @param inicio Posición de la línea dentro de la ventana
+     * @param fin Posición del final de la línea dentro de la ventana
+     */
+    private void agregar(int inicio, int fin) {
+      if (numeroCoincidencias == coincidencias.length)
+        coincidencias = Arrays.copyOf(coincidencias, coincidencias.length * 2);
+      coincidencias[numeroCoincidencias++] = (int) lineas;
+      coincidencias[numeroCoincidencias++] = inicio;
+      coincidencias[numeroCoincidencias++] = fin;
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package convertidor;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Cache de AFN ya convertidos, para no repetir la conversión de las expresiones que se usan muchas veces.
+ * La llave es la expresión normalizada, por lo que ( a+b ), (a+b) y a+b comparten la misma entrada.
+ * Tiene un número máximo de entradas y al llenarse desaloja la que se usó hace más tiempo (LRU).
+ * Se puede usar desde varios hilos: el mapa se protege con un candado privado, pero la conversión se hace fuera
+ * de él para que una expresión larga no detenga a los demás hilos. Si varios hilos piden a la vez una expresión
+ * que no está, solo el primero la convierte y los demás esperan su resultado.
+ * Los AFN se comparten entre todos los que los piden, no se deben modificar.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see Expresion#normalizar(String)
+ */
+public class CacheAutomatas {
+  /** Número de entradas predeterminado */
+  public static final int CAPACIDAD_PREDETERMINADA = 1024;
+
+  /** Candado del mapa, las conversiones en curso y los contadores */
+  private final Object candado = new Object();
+  /** AFN por expresión normalizada, en orden de uso, del menos al más reciente */
+  private final LinkedHashMap<String, AFN> automatas;
+  /** Conversiones que un hilo está haciendo, por expresión normalizada, para que los demás esperen su resultado */
+  private final Map<String, CompletableFuture<AFN>> enCurso = new HashMap<>();
+  /** Número máximo de entradas */
+  private final int capacidad;
+  /** Convierte una expresión normalizada en su AFN */
+  private final Function<String, AFN> conversor;
+  /** Veces que la expresión ya estaba en la cache */
+  private long aciertos;
+  /** Veces que la expresión se tuvo que convertir */
+  private long fallos;
+  /** Entradas que se quitaron para hacer espacio */
+  private long desalojos;
+
+  /** Instanciar una cache con la capacidad predeterminada */
+  public CacheAutomatas() { this(CAPACIDAD_PREDETERMINADA); }
+
+  /**
+   * Instanciar una cache
+   * @param capacidad Número máximo de AFN guardados
+   * @throws IllegalArgumentException Si la capacidad no es positiva
+   */
+  public CacheAutomatas(int capacidad) { this(capacidad, CacheAutomatas::convertirExpresion); }
+
+  /**
+   * Instanciar una cache que convierte con otra función, para que las pruebas controlen cuándo termina
+   * @param capacidad Número máximo de AFN guardados
+   * @param conversor Convierte una expresión normalizada en su AFN
+   * @throws IllegalArgumentException Si la capacidad no es positiva
+   */
+  CacheAutomatas(int capacidad, Function<String, AFN> conversor) {
+    if (capacidad <= 0) throw new IllegalArgumentException("La capacidad debe ser positiva");
+    this.capacidad = capacidad;
+    this.conversor = conversor;
+    // Con accessOrder cada get mueve la entrada al final, la primera es la menos usada
+    this.automatas = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, AFN> masAntigua) {
+        if (size() <= CacheAutomatas.this.capacidad) return false;
+        desalojos++;
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Obtener el AFN de una expresión regular, convirtiéndola si no está en la cache
+   * @param expresionRegular Expresión regular
+   * @return El AFN de la expresión normalizada, compartido con los demás que lo pidan
+   * @throws IllegalArgumentException Si la expresión regular no es válida, las inválidas no se guardan
+   */
+  public AFN obtener(String expresionRegular) {
+    String llave = Expresion.normalizar(expresionRegular);
+    CompletableFuture<AFN> conversion;
+    synchronized (candado) {
+      AFN automata = automatas.get(llave);
+      if (automata != null) {
+        aciertos++;
+        return automata;
+      }
+      // Si otro hilo ya la está convirtiendo se espera su resultado, y cuenta como acierto porque no se convierte
+      conversion = enCurso.get(llave);
+      if (conversion != null) aciertos++;
+      else {
+        fallos++;
+        enCurso.put(llave, new CompletableFuture<>());
+      }
+    }
+    return conversion != null ? esperar(conversion) : convertir(llave);
+  }
+
+  /**
+   * Convertir la expresión sin el candado, guardar el AFN y avisar a los hilos que lo esperan
+   * @param llave Expresión normalizada, con su conversión en curso registrada por este hilo
+   * @return El AFN de la expresión
+   * @throws IllegalArgumentException Si la expresión regular no es válida, se avisa también a los que esperan
+   */
+  private AFN convertir(String llave) {
+    AFN automata = null;
+    Throwable error = null;
+    try {
+      automata = conversor.apply(llave);
+      return automata;
+    } catch (RuntimeException | Error e) {
+      error = e;
+      throw e;
+    } finally {
+      // Las inválidas no se guardan, pero igual se quita la conversión en curso para no dejar hilos esperando
+      CompletableFuture<AFN> conversion;
+      synchronized (candado) {
+        conversion = enCurso.remove(llave);
+        if (error == null) automatas.put(llave, automata);
+      }
+      if (error == null) conversion.complete(automata);
+      else conversion.completeExceptionally(error);
+    }
+  }
+
+  /**
+   * Convertir una expresión regular sin mostrar los pasos
+   * @param expresionRegular Expresión normalizada
+   * @return El AFN de la expresión
+   * @throws IllegalArgumentException Si la expresión regular no es válida
+   */
+  private static AFN convertirExpresion(String expresionRegular) {
+    Convertidor convertidor = new Convertidor(expresionRegular, OyenteConversion.SILENCIOSO);
+    convertidor.convertir();
+    return convertidor.getAFN();
+  }
+
+  /**
+   * Esperar el resultado de la conversión que hace otro hilo
+   * @param conversion Conversión en curso
+   * @return El AFN que convirtió el otro hilo
+   * @throws IllegalArgumentException Si la expresión regular no es válida
+   */
+  private static AFN esperar(CompletableFuture<AFN> conversion) {
+    try {
+      return conversion.join();
+    } catch (CompletionException e) {
+      // Relanzar el mismo tipo de excepción que recibió el hilo que convirtió
+      if (e.getCause() instanceof RuntimeException causa) throw causa;
+      if (e.getCause() instanceof Error causa) throw causa;
+      throw e;
+    }
+  }
+
+  /** Quitar todas las entradas, los contadores se conservan */
+  public void limpiar() {
+    synchronized (candado) { automatas.clear(); }
+  }
+
+  /**
+   * Obtener el número de entradas guardadas
+   * @return Número de AFN en la cache
+   */
+  public int tamano() {
+    synchronized (candado) { return automatas.size(); }
+  }
+
+  /**
+   * Obtener el número máximo de entradas
+   * @return Capacidad de la cache
+   */
+  public int getCapacidad() { return capacidad; }
+
+  /**
+   * Obtener cuántas veces la expresión ya estaba en la cache
+   * @return Número de aciertos
+   */
+  public long getAciertos() {
+    synchronized (candado) { return aciertos; }
+  }
+
+  /**
+   * Obtener cuántas veces la expresión se tuvo que convertir
+   * @return Número de fallos
+   */
+  public long getFallos() {
+    synchronized (candado) { return fallos; }
+  }
+
+  /**
+   * Obtener cuántas entradas se quitaron para hacer espacio
+   * @return Número de desalojos
+   */
+  public long getDesalojos() {
+    synchronized (candado) { return desalojos; }
+  }
+
+  /**
+   * Obtener los contadores de la cache
+   * @return Aciertos, fallos, desalojos y entradas
+   */
+  @Override
+  public String toString() {
+    synchronized (candado) {
+      return "aciertos=" + aciertos + ", fallos=" + fallos + ", desalojos=" + desalojos +
+             ", entradas=" + automatas.size() + "/" + capacidad;
+    }
+  }
+}
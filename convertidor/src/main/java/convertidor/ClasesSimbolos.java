@@ -0,0 +1,151 @@
+package convertidor;
+
+import java.util.Arrays;
+
+/**
+ * Clase que agrupa los simbolos del alfabeto de un AFN en clases de equivalencia: dos simbolos están en la misma
+ * clase si tienen exactamente las mismas transiciones, de los mismos estados a los mismos estados, así que ningún
+ * reconocedor los puede distinguir. Por ejemplo en (a+b+c)*d, a, b y c son una sola clase y d es otra.
+ * Las tablas de transiciones se indexan por clase en lugar de por simbolo, por lo que ocupan menos.
+ * <p>
+ * La clase de un caracter se obtiene con una tabla de dos niveles: 256 páginas de 256 caracteres,
+ * las páginas sin simbolos del alfabeto son la misma página vacía, así la tabla completa ocupa pocos KB.
+ * Es inmutable y se puede usar desde varios hilos a la vez.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see SimuladorAFN
+ */
+public class ClasesSimbolos {
+  /** Página sin simbolos del alfabeto, compartida por todas las páginas vacías */
+  private static final char[] PAGINA_VACIA = new char[256];
+
+  /** Para cada página de 256 caracteres, la clase de cada caracter más uno, 0 si no es parte del alfabeto */
+  private final char[][] paginas;
+  /** Simbolos del alfabeto ordenados */
+  private final char[] simbolos;
+  /** El menor simbolo de cada clase */
+  private final char[] representantes;
+
+  /**
+   * Calcular las clases de los simbolos de un AFN
+   * @param automata AFN ya convertido
+   */
+  public ClasesSimbolos(AFN automata) { this(automata.getIndice()); }
+
+  /**
+   * Calcular las clases de los simbolos con las transiciones ya agrupadas por origen
+   * @param indice Índice de adyacencia del AFN
+   */
+  ClasesSimbolos(IndiceAdyacencia indice) {
+    this.simbolos = indice.getSimbolos();
+    int k = simbolos.length;
+    int[] inicioSimbolos = indice.getInicioSimbolos();
+    char[] simbolosTransiciones = indice.getSimbolosTransiciones();
+    int[] destinos = indice.getDestinosSimbolos();
+
+    // Agrupar las transiciones (origen, destino) por simbolo, como pares en un long
+    int[] inicioGrupo = new int[k + 1];
+    int[] columnas = new int[simbolosTransiciones.length];
+    for (int t = 0; t < columnas.length; t++) {
+      columnas[t] = Arrays.binarySearch(simbolos, simbolosTransiciones[t]);
+      inicioGrupo[columnas[t] + 1]++;
+    }
+    for (int j = 0; j < k; j++) inicioGrupo[j + 1] += inicioGrupo[j];
+    long[] pares = new long[columnas.length];
+    int[] siguiente = Arrays.copyOf(inicioGrupo, k);
+    for (int q = 0; q < inicioSimbolos.length - 1; q++)
+      for (int t = inicioSimbolos[q]; t < inicioSimbolos[q + 1]; t++)
+        pares[siguiente[columnas[t]]++] = (long) q << 32 | destinos[t];
+
+    // Ordenar los pares de cada simbolo y quitar los repetidos, para comparar grupos como arreglos
+    int[] finGrupo = new int[k];
+    for (int j = 0; j < k; j++) {
+      Arrays.sort(pares, inicioGrupo[j], inicioGrupo[j + 1]);
+      int n = inicioGrupo[j];
+      for (int t = inicioGrupo[j]; t < inicioGrupo[j + 1]; t++)
+        if (t == inicioGrupo[j] || pares[t] != pares[t - 1]) pares[n++] = pares[t];
+      finGrupo[j] = n;
+    }
+
+    // Los simbolos con grupos iguales quedan juntos al ordenarlos por su grupo
+    Integer[] orden = new Integer[k];
+    for (int j = 0; j < k; j++) orden[j] = j;
+    Arrays.sort(orden, (a, b) -> Arrays.compare(pares, inicioGrupo[a], finGrupo[a], pares, inicioGrupo[b], finGrupo[b]));
+    int[] grupo = new int[k];
+    for (int i = 1; i < k; i++) {
+      int a = orden[i - 1], b = orden[i];
+      boolean igual = Arrays.equals(pares, inicioGrupo[a], finGrupo[a], pares, inicioGrupo[b], finGrupo[b]);
+      grupo[b] = igual ? grupo[a] : grupo[a] + 1;
+    }
+
+    // Numerar las clases en el orden de su menor simbolo
+    int[] clase = new int[k];
+    int[] nuevo = new int[k];
+    Arrays.fill(nuevo, -1);
+    char[] representantes = new char[k];
+    int numeroClases = 0;
+    for (int j = 0; j < k; j++) {
+      if (nuevo[grupo[j]] == -1) {
+        representantes[numeroClases] = simbolos[j];
+        nuevo[grupo[j]] = numeroClases++;
+      }
+      clase[j] = nuevo[grupo[j]];
+    }
+    this.representantes = Arrays.copyOf(representantes, numeroClases);
+
+    this.paginas = new char[256][];
+    Arrays.fill(paginas, PAGINA_VACIA);
+    for (int j = 0; j < k; j++) {
+      int pagina = simbolos[j] >>> 8;
+      if (paginas[pagina] == PAGINA_VACIA) paginas[pagina] = new char[256];
+      paginas[pagina][simbolos[j] & 0xFF] = (char) (clase[j] + 1);
+    }
+  }
+
+  /**
+   * Obtener la clase de un caracter
+   * @param simbolo Caracter a buscar
+   * @return La clase del caracter, de 0 a getNumeroClases() - 1, o -1 si no es parte del alfabeto
+   */
+  public int clase(char simbolo) { return paginas[simbolo >>> 8][simbolo & 0xFF] - 1; }
+
+  /**
+   * Obtener el número de clases
+   * @return Número de clases, a lo más el número de simbolos del alfabeto
+   */
+  public int getNumeroClases() { return representantes.length; }
+
+  /**
+   * Obtener un simbolo de una clase, todos tienen las mismas transiciones
+   * @param clase Clase del simbolo
+   * @return El menor simbolo de la clase
+   */
+  public char getRepresentante(int clase) { return representantes[clase]; }
+
+  /**
+   * Obtener los simbolos del alfabeto, sin copiar el arreglo
+   * @return Arreglo ordenado de simbolos, no se debe modificar
+   */
+  char[] getSimbolos() { return simbolos; }
+
+  /**
+   * Obtener las clases con sus simbolos
+   * @return Las clases separadas por espacios, ejemplo: {a, b, c} {d}
+   */
+  @Override
+  public String toString() {
+    StringBuilder texto = new StringBuilder();
+    for (int c = 0; c < representantes.length; c++) {
+      if (c > 0) texto.append(' ');
+      texto.append('{');
+      boolean primero = true;
+      for (char simbolo : simbolos) {
+        if (clase(simbolo) != c) continue;
+        if (!primero) texto.append(", ");
+        primero = false;
+        texto.append(simbolo);
+      }
+      texto.append('}');
+    }
+    return texto.toString();
+  }
+}
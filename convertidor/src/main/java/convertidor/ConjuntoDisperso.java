@@ -0,0 +1,72 @@
+package convertidor;
+
+/**
+ * Clase para representar un conjunto de estados como conjunto disperso (sparse set).
+ * Agregar, consultar y vaciar el conjunto cuesta O(1) y no se crean objetos después de instanciarlo,
+ * por lo que se puede reutilizar en cada caracter de la simulación.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see SimuladorAFN
+ */
+public class ConjuntoDisperso {
+  /** Elementos del conjunto en el orden en que se agregaron */
+  private final int[] denso;
+  /** Para cada elemento, su posición en el arreglo denso */
+  private final int[] disperso;
+  /** Número de elementos del conjunto */
+  private int tamano;
+
+  /**
+   * Instanciar un conjunto vacío
+   * @param capacidad Número de estados posibles, los elementos van de 0 a capacidad - 1
+   */
+  public ConjuntoDisperso(int capacidad) {
+    this.denso = new int[capacidad];
+    this.disperso = new int[capacidad];
+  }
+
+  /**
+   * Verificar si un elemento pertenece al conjunto
+   * @param elemento Elemento a buscar
+   * @return True si el elemento está en el conjunto
+   */
+  public boolean contiene(int elemento) {
+    int i = disperso[elemento];
+    return i < tamano && denso[i] == elemento;
+  }
+
+  /**
+   * Agregar un elemento al conjunto
+   * @param elemento Elemento a agregar
+   * @return True si el elemento no estaba en el conjunto
+   */
+  public boolean agregar(int elemento) {
+    if (contiene(elemento)) return false;
+    disperso[elemento] = tamano;
+    denso[tamano++] = elemento;
+    return true;
+  }
+
+  /**
+   * Obtener un elemento del conjunto
+   * @param i Posición del elemento, de 0 a tamano() - 1
+   * @return El elemento en esa posición
+   */
+  public int get(int i) { return denso[i]; }
+
+  /**
+   * Obtener el número de elementos del conjunto
+   * @return El tamaño del conjunto
+   */
+  public int tamano() { return tamano; }
+
+  /**
+   * Verificar si el conjunto no tiene elementos
+   * @return True si el tamaño es 0
+   */
+  public boolean estaVacio() { return tamano == 0; }
+
+  /**
+   * Quitar todos los elementos del conjunto, sin recorrerlos
+   */
+  public void limpiar() { tamano = 0; }
+}
@@ -0,0 +1,190 @@
+package convertidor;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Clase que compila muchas expresiones regulares en un solo AFN para encontrar en una sola pasada
+ * todas las que coinciden con un texto. El AFN combinado tiene un estado inicial nuevo con una transición
+ * de palabra vacía al estado inicial de cada patrón, y cada estado final guarda el número del patrón al que
+ * pertenece. Se recorre con un AFD perezoso, así que cada caracter cuesta una consulta en la tabla sin importar
+ * cuántos patrones haya, y cada estado del AFD guarda una sola vez qué patrones aceptan en él.
+ * Los patrones se identifican por su posición en la lista con la que se compilaron.
+ * No es seguro usar la misma instancia desde varios hilos.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see AFDPerezoso
+ */
+public class ConjuntoPatrones {
+  /** Patrones ya combinados en un solo AFN */
+  private final AFN automata;
+  /** Número de patrones */
+  private final int numeroPatrones;
+  /** Para cada estado del AFN combinado, el patrón al que pertenece si es final, si no, -1 */
+  private final int[] patrones;
+  /** AFD para reconocer textos completos, se crea la primera vez que se usa */
+  private Recorrido completo;
+  /** AFD para buscar en cualquier posición del texto, se crea la primera vez que se usa */
+  private Recorrido busqueda;
+
+  /**
+   * Instanciar un conjunto con el AFN ya combinado
+   * @param automata AFN combinado
+   * @param numeroPatrones Número de patrones
+   * @param patrones Patrón de cada estado final
+   */
+  private ConjuntoPatrones(AFN automata, int numeroPatrones, int[] patrones) {
+    this.automata = automata;
+    this.numeroPatrones = numeroPatrones;
+    this.patrones = patrones;
+  }
+
+  /**
+   * Convertir las expresiones y combinarlas en un solo AFN
+   * @param expresiones Expresiones regulares, el número de cada patrón es su posición en la lista
+   * @return El conjunto de patrones compilado
+   * @throws IllegalArgumentException Si alguna expresión no es válida, con su número y la posición del error
+   */
+  public static ConjuntoPatrones compilar(List<String> expresiones) {
+    AFN combinado = new AFN(new Estado(0, Estado.TiposEstados.INICIAL));
+    Expresion vacia = new Expresion(String.valueOf(SimuladorAFN.PALABRA_VACIA));
+    int[] patrones = new int[16];
+    patrones[0] = -1;
+
+    for (int i = 0; i < expresiones.size(); i++) {
+      AFN automata;
+      try {
+        Convertidor convertidor = new Convertidor(expresiones.get(i), OyenteConversion.SILENCIOSO);
+        convertidor.convertir();
+        automata = convertidor.getAFN();
+      } catch (ExpresionInvalidaException e) {
+        throw new IllegalArgumentException("Patrón " + i + ": " + e.getMessage().strip(), e);
+      }
+
+      // Copiar los estados del patrón después de los que ya hay, en el mismo orden
+      Estado[] nuevos = new Estado[automata.getNumeroEstados()];
+      for (int q = 0; q < nuevos.length; q++) {
+        nuevos[q] = automata.esFinal(q) ? combinado.crearEstadoFinal() : combinado.crearEstado();
+        int numero = nuevos[q].getNumero();
+        if (numero >= patrones.length) patrones = Arrays.copyOf(patrones, 2 * patrones.length);
+        patrones[numero] = automata.esFinal(q) ? i : -1;
+      }
+      combinado.crearTransicion(combinado.getEstadoInicial(), vacia, nuevos[automata.getEstadoInicial().getNumero()]);
+      for (Transicion t : automata.getTransiciones())
+        if (t.getExpresion().esExpresionMinima())
+          combinado.crearTransicion(
+                  nuevos[t.getEstadoOrigen().getNumero()],
+                  t.getExpresion(),
+                  nuevos[t.getEstadoDestino().getNumero()]
+          );
+
+      StringBuilder alfabeto = new StringBuilder();
+      for (char simbolo : automata.getAlfabeto()) alfabeto.append(simbolo);
+      combinado.calcularAlfabeto(alfabeto.toString());
+    }
+
+    return new ConjuntoPatrones(combinado, expresiones.size(), patrones);
+  }
+
+  /**
+   * Encontrar los patrones que aceptan el texto completo
+   * @param texto Texto a reconocer
+   * @return Los números de los patrones que lo aceptan, vacío si ninguno
+   */
+  public BitSet aceptan(CharSequence texto) {
+    if (completo == null) completo = new Recorrido(new AFDPerezoso(automata));
+    BitSet encontrados = new BitSet(numeroPatrones);
+    AFDPerezoso afd = completo.afd;
+
+    boolean medir = Metricas.medir();
+    long inicio = medir ? System.nanoTime() : 0;
+    int estado = afd.estadoInicial();
+    int i = 0;
+    while (i < texto.length() && estado != AFDPerezoso.MUERTO) estado = afd.avanzar(estado, texto.charAt(i++));
+    if (estado != AFDPerezoso.MUERTO) completo.agregarPatrones(estado, encontrados);
+
+    if (medir) Metricas.global().registrarReconocimiento(Metricas.TiposReconocedor.CONJUNTO_PATRONES, inicio, i, i + 1);
+    return encontrados;
+  }
+
+  /**
+   * Encontrar los patrones que coinciden con alguna subpalabra del texto, en una sola pasada
+   * @param texto Texto donde se busca
+   * @return Los números de los patrones que coinciden en alguna posición, vacío si ninguno
+   */
+  public BitSet buscar(CharSequence texto) {
+    if (busqueda == null) busqueda = new Recorrido(AFDPerezoso.paraBusqueda(automata));
+    BitSet encontrados = new BitSet(numeroPatrones);
+    AFDPerezoso afd = busqueda.afd;
+
+    boolean medir = Metricas.medir();
+    long inicio = medir ? System.nanoTime() : 0;
+    int estado = afd.estadoInicial();
+    busqueda.agregarPatrones(estado, encontrados);
+    for (int i = 0; i < texto.length(); i++) {
+      estado = afd.avanzar(estado, texto.charAt(i));
+      busqueda.agregarPatrones(estado, encontrados);
+    }
+
+    if (medir) {
+      long n = texto.length();
+      Metricas.global().registrarReconocimiento(Metricas.TiposReconocedor.CONJUNTO_PATRONES, inicio, n, n + 1);
+    }
+    return encontrados;
+  }
+
+  /**
+   * Obtener el número de patrones compilados
+   * @return Número de patrones
+   */
+  public int getNumeroPatrones() { return numeroPatrones; }
+
+  /**
+   * Obtener el AFN con todos los patrones combinados
+   * @return El AFN combinado
+   */
+  public AFN getAutomata() { return automata; }
+
+  /** Un AFD perezoso del AFN combinado junto con los patrones que acepta cada uno de sus estados */
+  private class Recorrido {
+    /** AFD del AFN combinado */
+    private final AFDPerezoso afd;
+    /** Patrones de cada estado final del AFD, null si aún no se calculan */
+    private BitSet[] aceptados;
+    /** Reinicios del AFD cuando se calcularon los patrones, si cambia ya no corresponden */
+    private int reinicios;
+
+    /**
+     * Instanciar un recorrido
+     * @param afd AFD del AFN combinado
+     */
+    Recorrido(AFDPerezoso afd) {
+      this.afd = afd;
+      this.aceptados = new BitSet[16];
+    }
+
+    /**
+     * Agregar los patrones que aceptan en un estado del AFD, calculándolos la primera vez que se llega a él
+     * @param estado Estado del AFD, no puede ser MUERTO
+     * @param encontrados Donde se agregan los patrones
+     */
+    void agregarPatrones(int estado, BitSet encontrados) {
+      if (!afd.esFinal(estado)) return;
+      // Si la tabla del AFD se vació, los números de sus estados ya son de otros subconjuntos
+      if (afd.getReinicios() != reinicios) {
+        Arrays.fill(aceptados, null);
+        reinicios = afd.getReinicios();
+      }
+      if (estado >= aceptados.length) aceptados = Arrays.copyOf(aceptados, Math.max(2 * aceptados.length, estado + 1));
+
+      BitSet patronesEstado = aceptados[estado];
+      if (patronesEstado == null) {
+        patronesEstado = new BitSet(numeroPatrones);
+        for (int q : afd.getSubconjunto(estado))
+          if (patrones[q] >= 0) patronesEstado.set(patrones[q]);
+        aceptados[estado] = patronesEstado;
+      }
+      encontrados.or(patronesEstado);
+    }
+  }
+}
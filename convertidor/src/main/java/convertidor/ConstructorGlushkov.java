@@ -0,0 +1,240 @@
+package convertidor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Clase que construye el autómata de posiciones (construcción de Glushkov) de una expresión regular.
+ * Cada aparición de un simbolo en la expresión es una posición, el AFN tiene un estado inicial q0 y un estado
+ * por posición, en el orden en que aparecen, así que para n simbolos tiene exactamente n + 1 estados
+ * y ninguna transición de palabra vacía. Se calcula en una sola pasada del árbol sintáctico si cada subexpresión
+ * acepta la palabra vacía, sus primeras y ultimas posiciones y las posiciones que pueden seguir a cada una.
+ * Las posiciones de dos subexpresiones hermanas nunca se repiten, así que se juntan agregando una lista a otra
+ * en lugar de usar conjuntos. Las siguientes de una posición sí se pueden repetir con cerraduras anidadas,
+ * como en (a*)*, y se descartan las repetidas al crear las transiciones.
+ * <p>
+ * A diferencia de Convertidor, no hay pasos intermedios que mostrar. Las agrupaciones innecesarias,
+ * como ((a+b)), se convierten igual que su contenido y _ se toma como la palabra vacía.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see Convertidor
+ */
+public class ConstructorGlushkov {
+  /** Simbolo de cada posición, la posición 0 es el estado inicial y no tiene simbolo */
+  private final StringBuilder simbolos;
+  /** Posiciones que pueden seguir a cada posición */
+  private final ArrayList<Lista> siguientes;
+
+  /** Instanciar un constructor sin posiciones */
+  private ConstructorGlushkov() {
+    this.simbolos = new StringBuilder().append(SimuladorAFN.PALABRA_VACIA);
+    this.siguientes = new ArrayList<>();
+    this.siguientes.add(null);
+  }
+
+  /**
+   * Construir el autómata de posiciones de una expresión regular
+   * @param expresionRegular Expresión regular a convertir
+   * @return El AFN sin transiciones de palabra vacía
+   * @throws ExpresionInvalidaException Si la expresión regular no es válida, con la posición del error
+   */
+  public static AFN construir(String expresionRegular) {
+    Validador.validar(expresionRegular);
+    ConstructorGlushkov constructor = new ConstructorGlushkov();
+    Posiciones raiz = constructor.recorrer(new Expresion(expresionRegular).getNodo());
+    return constructor.crearAFN(raiz, expresionRegular);
+  }
+
+  /**
+   * Calcular las posiciones de cada nodo sin recursión, para no llenar la pila de llamadas con expresiones
+   * muy anidadas. Cada marco de la pila es un nodo al que le faltan hijos, cada hijo al terminar se junta
+   * con lo que lleva su padre.
+   * @param raiz Nodo raíz del árbol sintáctico
+   * @return Las posiciones de toda la expresión
+   */
+  private Posiciones recorrer(NodoExpresion raiz) {
+    ArrayDeque<Marco> pila = new ArrayDeque<>();
+    pila.push(new Marco(raiz));
+
+    while (true) {
+      Marco marco = pila.peek();
+      if (marco.siguiente < marco.nodo.getNumeroHijos()) {
+        pila.push(new Marco(marco.nodo.getHijo(marco.siguiente)));
+        continue;
+      }
+
+      pila.pop();
+      Posiciones posiciones = marco.nodo.getNumeroHijos() == 0 ? hoja(marco.nodo) : marco.posiciones;
+      if (pila.isEmpty()) return posiciones;
+      juntar(pila.peek(), posiciones);
+    }
+  }
+
+  /**
+   * Calcular las posiciones de un nodo sin hijos
+   * @param nodo Simbolo o expresión vacía
+   * @return Una posición nueva si es un simbolo, si no, solo la palabra vacía
+   */
+  private Posiciones hoja(NodoExpresion nodo) {
+    Posiciones posiciones = new Posiciones();
+    if (nodo.longitud() == 0 || nodo.caracterEn(0) == SimuladorAFN.PALABRA_VACIA) {
+      posiciones.anulable = true;
+      return posiciones;
+    }
+
+    int p = simbolos.length();
+    simbolos.append(nodo.caracterEn(0));
+    siguientes.add(new Lista());
+    posiciones.primeras.agregar(p);
+    posiciones.ultimas.agregar(p);
+    return posiciones;
+  }
+
+  /**
+   * Juntar las posiciones de un hijo ya terminado con las de su padre, según el tipo del padre
+   * @param padre Marco del padre, avanza a su siguiente hijo
+   * @param hijo Posiciones del hijo
+   */
+  private void juntar(Marco padre, Posiciones hijo) {
+    int indice = padre.siguiente++;
+    Posiciones actual = padre.posiciones;
+    if (indice == 0) {
+      padre.posiciones = hijo;
+      // La cerradura puede repetir su contenido y acepta la palabra vacía
+      if (padre.nodo.getTipo() == NodoExpresion.TiposExpresion.CERRADURA_KLEENE) {
+        seguir(hijo.ultimas, hijo.primeras);
+        hijo.anulable = true;
+      }
+      return;
+    }
+
+    switch (padre.nodo.getTipo()) {
+      case UNION -> {
+        actual.anulable |= hijo.anulable;
+        actual.primeras = unir(actual.primeras, hijo.primeras);
+        actual.ultimas = unir(actual.ultimas, hijo.ultimas);
+      }
+      case CONCATENACION -> {
+        seguir(actual.ultimas, hijo.primeras);
+        if (actual.anulable) actual.primeras = unir(actual.primeras, hijo.primeras);
+        actual.ultimas = hijo.anulable ? unir(actual.ultimas, hijo.ultimas) : hijo.ultimas;
+        actual.anulable &= hijo.anulable;
+      }
+      default -> throw new IllegalStateException("Un nodo " + padre.nodo.getTipo() + " solo tiene un hijo");
+    }
+  }
+
+  /**
+   * Juntar dos listas de posiciones de subexpresiones distintas, agregando la más corta a la más larga
+   * para no copiar muchas veces las mismas posiciones
+   * @param a Una lista, se puede modificar
+   * @param b Otra lista, se puede modificar
+   * @return La lista con las posiciones de ambas
+   */
+  private static Lista unir(Lista a, Lista b) {
+    if (a.tamano < b.tamano) {
+      b.agregarTodas(a);
+      return b;
+    }
+    a.agregarTodas(b);
+    return a;
+  }
+
+  /**
+   * Agregar las primeras posiciones de una subexpresión a las que pueden seguir a cada ultima posición de otra
+   * @param ultimas Ultimas posiciones de la subexpresión anterior
+   * @param primeras Primeras posiciones de la subexpresión siguiente
+   */
+  private void seguir(Lista ultimas, Lista primeras) {
+    for (int i = 0; i < ultimas.tamano; i++) siguientes.get(ultimas.elementos[i]).agregarTodas(primeras);
+  }
+
+  /**
+   * Crear el AFN con un estado por posición
+   * @param raiz Posiciones de toda la expresión
+   * @param expresionRegular Expresión regular, para el alfabeto
+   * @return El AFN
+   */
+  private AFN crearAFN(Posiciones raiz, String expresionRegular) {
+    AFN automata = new AFN(new Estado(0, Estado.TiposEstados.INICIAL));
+    automata.calcularAlfabeto(expresionRegular);
+    if (raiz.anulable) automata.agregarEstadoFinal(automata.getEstadoInicial());
+
+    boolean[] finales = new boolean[simbolos.length()];
+    for (int i = 0; i < raiz.ultimas.tamano; i++) finales[raiz.ultimas.elementos[i]] = true;
+    Estado[] estados = new Estado[simbolos.length()];
+    estados[0] = automata.getEstadoInicial();
+    for (int p = 1; p < estados.length; p++) estados[p] = finales[p] ? automata.crearEstadoFinal() : automata.crearEstado();
+
+    // Las expresiones de un simbolo se comparten entre transiciones
+    HashMap<Character, Expresion> expresiones = new HashMap<>();
+    // Para no repetir destinos desde la misma posición, marcado con la posición + 1
+    int[] marcas = new int[estados.length];
+    for (int p = 0; p < estados.length; p++) {
+      Lista destinos = p == 0 ? raiz.primeras : siguientes.get(p);
+      for (int i = 0; i < destinos.tamano; i++) {
+        int r = destinos.elementos[i];
+        if (marcas[r] == p + 1) continue;
+        marcas[r] = p + 1;
+        Expresion simbolo = expresiones.computeIfAbsent(simbolos.charAt(r), c -> new Expresion(String.valueOf(c)));
+        automata.crearTransicion(estados[p], simbolo, estados[r]);
+      }
+    }
+    return automata;
+  }
+
+  /** Lo que se calcula de cada subexpresión */
+  private static class Posiciones {
+    /** Si acepta la palabra vacía */
+    private boolean anulable;
+    /** Posiciones con las que puede empezar una palabra */
+    private Lista primeras = new Lista();
+    /** Posiciones con las que puede terminar una palabra */
+    private Lista ultimas = new Lista();
+  }
+
+  /** Lista de posiciones que crece según se necesita */
+  private static class Lista {
+    /** Posiciones, solo las primeras tamano son válidas */
+    private int[] elementos = new int[2];
+    /** Número de posiciones */
+    private int tamano;
+
+    /**
+     * Agregar una posición al final
+     * @param posicion Posición a agregar
+     */
+    void agregar(int posicion) {
+      if (tamano == elementos.length) elementos = Arrays.copyOf(elementos, 2 * tamano);
+      elementos[tamano++] = posicion;
+    }
+
+    /**
+     * Agregar todas las posiciones de otra lista al final
+     * @param otra Lista a agregar, no se modifica
+     */
+    void agregarTodas(Lista otra) {
+      if (tamano + otra.tamano > elementos.length)
+        elementos = Arrays.copyOf(elementos, Math.max(2 * elementos.length, tamano + otra.tamano));
+      System.arraycopy(otra.elementos, 0, elementos, tamano, otra.tamano);
+      tamano += otra.tamano;
+    }
+  }
+
+  /** Nodo del árbol al que le faltan hijos por recorrer */
+  private static class Marco {
+    /** Nodo a recorrer */
+    private final NodoExpresion nodo;
+    /** Posiciones de los hijos ya recorridos, juntas según el tipo del nodo */
+    private Posiciones posiciones;
+    /** Indice del siguiente hijo por recorrer */
+    private int siguiente;
+
+    /**
+     * Instanciar un marco
+     * @param nodo Nodo a recorrer
+     */
+    Marco(NodoExpresion nodo) { this.nodo = nodo; }
+  }
+}
@@ -0,0 +1,314 @@
+package convertidor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase que realiza la conversión de Expresión Regular a Autómata Finito No Determinista.
+ * Contiene los métodos para tratar uniones, concatenaciones y cerraduras de Kleene.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ */
+public class Convertidor {
+  /** Estado inicial del AFN */
+  private final Estado q0;
+  /** Estado final del AFN */
+  private final Estado q1;
+  /** Expresión Regular a convertir */
+  private final Expresion er;
+  /** Expresión Regular como se recibió, para las métricas */
+  private final String expresionRegular;
+  /** Objeto Autómata Finito No Determinista */
+  private final AFN automataFinito;
+  /** Transiciones cuya expresión falta por transformar, la siguiente está en la cima */
+  private final ArrayDeque<Transicion> pendientes;
+  /** Para indicar el número de paso en los pasos de la conversión */
+  private int numeroPaso;
+  /** Recibe los pasos de la conversión */
+  private final OyenteConversion oyente;
+  /** Si el oyente quiere recibir los pasos, si no, no se crean los eventos */
+  private final boolean notificar;
+  /** Si se miden los tiempos, si no, no se lee el reloj ni se registra la conversión en las métricas */
+  private final boolean medir;
+  /** Tiempo de validar y analizar la expresión, en nanosegundos */
+  private final long nanosAnalisis;
+  /** Tiempo de cada tipo de paso sin contar la presentación, en el orden de PasoConversion.TiposPaso */
+  private final long[] nanosPasos;
+  /** Tiempo de avisar los pasos al oyente */
+  private long nanosPresentacion;
+
+  /**
+   * Instanciar un convertidor de ER a AFN
+   * @param expresionRegular Expresión Regular a convertir
+   * Los pasos de la conversión se imprimen en la salida estándar.
+   * @throws ExpresionInvalidaException Si la expresión regular no es válida, con la posición del error
+   */
+  public Convertidor(String expresionRegular) { this(expresionRegular, new OyenteTexto(System.out)); }
+
+  /**
+   * Instanciar un convertidor de ER a AFN que avisa los pasos a un oyente
+   * @param expresionRegular Expresión Regular a convertir
+   * @param oyente Recibe los pasos de la conversión, OyenteConversion.SILENCIOSO para no mostrarlos
+   * @throws ExpresionInvalidaException Si la expresión regular no es válida, con la posición del error
+   */
+  public Convertidor(String expresionRegular, OyenteConversion oyente) {
+    this.oyente = oyente;
+    this.notificar = oyente.estaActivo();
+    this.medir = Metricas.medir();
+    this.expresionRegular = expresionRegular;
+    this.q0 = new Estado(0, Estado.TiposEstados.INICIAL);
+    this.q1 = new Estado(1, Estado.TiposEstados.FINAL);
+    this.automataFinito = new AFN(q0, q1);
+    long inicio = medir ? System.nanoTime() : 0;
+    Validador.validar(expresionRegular);
+    this.automataFinito.calcularAlfabeto(expresionRegular);
+    this.er = new Expresion(expresionRegular);
+    this.nanosAnalisis = medir ? System.nanoTime() - inicio : 0;
+    this.nanosPasos = new long[PasoConversion.TiposPaso.values().length];
+    this.pendientes = new ArrayDeque<>();
+    // 2 porque 1 ya se imprime directo en el primer paso
+    this.numeroPaso = 2;
+  }
+
+  /**
+   * Iniciar la conversión de ER a AFN.
+   * En lugar de transformar las subexpresiones con recursión, cada transformación agrega sus transiciones
+   * a una pila de pendientes en orden inverso, así se transforman en el mismo orden que antes
+   * (primero todo lo que sale de la primera subexpresión) sin depender del tamaño de la pila de llamadas.
+   * Al terminar se registran los tiempos de cada tipo de paso en las métricas globales, si se está midiendo.
+   * @see Metricas
+   */
+  public void convertir() {
+    transformarEstadosInicalFinal(q0, er, q1);
+    while (!pendientes.isEmpty()) {
+      Transicion t = pendientes.pop();
+      identificarSiguienteTransformacion(t.getEstadoOrigen(), t.getExpresion(), t.getEstadoDestino());
+    }
+    if (!medir) {
+      oyente.terminar();
+      return;
+    }
+    long inicio = System.nanoTime();
+    oyente.terminar();
+    nanosPresentacion += System.nanoTime() - inicio;
+
+    Metricas.global().registrarConversion(getMetricas());
+  }
+
+  /**
+   * Obtener las métricas de esta conversión, después de llamar a convertir().
+   * Los tiempos son 0 si no se estaba midiendo al instanciar el convertidor, los números de estados,
+   * transiciones y pasos siempre están.
+   * @return Copia de las métricas de la conversión
+   * @see Metricas#medir()
+   */
+  public Metricas.InstantaneaConversion getMetricas() {
+    return new Metricas.InstantaneaConversion(
+            expresionRegular,
+            nanosAnalisis,
+            nanosPasos,
+            nanosPresentacion,
+            automataFinito.getNumeroEstados(),
+            automataFinito.getTransiciones().size(),
+            numeroPaso - 1
+    );
+  }
+
+  /**
+   * Crear la transición del estado inicial a final con la ER inicial
+   * @param i Estado inicial del AFN
+   * @param expresionRegular Expresión Regular a convertir
+   * @param f Estado final del AFN
+   */
+  private void transformarEstadosInicalFinal(Estado i, Expresion expresionRegular, Estado f) {
+    Transicion t1 = automataFinito.crearTransicion(i, expresionRegular, f);
+    if (notificar)
+      avisar(new PasoConversion(
+              1,
+              PasoConversion.TiposPaso.INICIAL,
+              expresionRegular.getExpresionRegular(),
+              List.of(t1)
+      ));
+
+    pendientes.push(t1);
+  }
+
+  /**
+   * Separar las concatenaciones de la expresión y crear las transiciones entre ellas
+   * @param estadoOrigen Estado de donde parte la expresión
+   * @param expresion Expresión a separar
+   * @param estadoDestino Estado a donde llegará la ultima concatenación
+   */
+  private void transformarConcatenacion(Estado estadoOrigen, Expresion expresion, Estado estadoDestino) {
+    int paso = numeroPaso++;
+    ArrayList<Expresion> subExpresiones = Expresion.separarConcatenaciones(expresion);
+    ArrayList<Transicion> transicionesGeneradas = new ArrayList<>(); // Para recuperar las transiciones después
+
+    Estado estadoIntermedio = automataFinito.crearEstado(); // Para las transiciones entre los estados de origen y destino
+
+    // Crear la primera transición
+    Transicion transicion = automataFinito.crearTransicion(estadoOrigen, subExpresiones.get(0), estadoIntermedio);
+    transicionesGeneradas.add(transicion);
+
+    // Crear las transiciones intermedias
+    for (int i = 1; i < subExpresiones.size() - 1; i++) {
+      Estado estadoIntermedioAux = automataFinito.crearEstado(); // Auxiliar para el estado destino
+      transicion = automataFinito.crearTransicion(estadoIntermedio, subExpresiones.get(i), estadoIntermedioAux);
+      transicionesGeneradas.add(transicion);
+      estadoIntermedio = estadoIntermedioAux; // El estado destino se convierte en el origen de la siguiente transición
+    }
+
+    // Crear la ultima transición
+    transicion = automataFinito.crearTransicion(
+            estadoIntermedio,
+            subExpresiones.get(subExpresiones.size() - 1),
+            estadoDestino
+    );
+    transicionesGeneradas.add(transicion);
+    if (notificar)
+      avisar(new PasoConversion(
+              paso,
+              PasoConversion.TiposPaso.CONCATENACION,
+              expresion.getExpresionRegular(),
+              transicionesGeneradas
+      ));
+
+    // Buscar si las subexpresiones se pueden transformar, esto se hace al final de cada transformación
+    agregarPendientes(transicionesGeneradas);
+  }
+
+  /**
+   * Separar las uniones de la expresión y crear las transiciones
+   * @param estadoOrigen Estado de donde parte la expresión
+   * @param expresion Expresión a separr
+   * @param estadoDestino Estado a donde llegarán las sub expresiones
+   */
+  private void transformarUnion(Estado estadoOrigen, Expresion expresion, Estado estadoDestino) {
+    int paso = numeroPaso++;
+    ArrayList<Expresion> subExpresiones = Expresion.separarUniones(expresion);
+    ArrayList<Transicion> transicionesGeneradas = new ArrayList<>(subExpresiones.size());
+
+    // Por cada sub expresión, crear una transición desde el origen hacia el destino
+    for (Expresion subExpresion : subExpresiones)
+      transicionesGeneradas.add(automataFinito.crearTransicion(estadoOrigen, subExpresion, estadoDestino));
+    if (notificar)
+      avisar(new PasoConversion(
+              paso,
+              PasoConversion.TiposPaso.UNION,
+              expresion.getExpresionRegular(),
+              transicionesGeneradas
+      ));
+
+    agregarPendientes(transicionesGeneradas);
+  }
+
+  /**
+   * Tratar la expresión con cerradura de Kleene
+   * @param estadoOrigen Estado de donde parte la expresión
+   * @param expresion Expresión con cerradura de Kleene
+   * @param estadoDestino Estado a donde llegará la expresión
+   */
+  private void transformarCerraduraKleene(Estado estadoOrigen, Expresion expresion, Estado estadoDestino) {
+    int paso = numeroPaso++;
+    // El texto se toma antes de quitar el *
+    String expresionOriginal = notificar ? expresion.getExpresionRegular() : null;
+    expresion.quitarCerraduraKleene();
+
+    // Crear la transición de palabra vacía a un estado intermedio
+    Estado estadoIntermedio = automataFinito.crearEstado();
+    Transicion entrada = automataFinito.crearTransicion(
+            estadoOrigen,
+            new Expresion("_"),
+            estadoIntermedio);
+
+    // Crear la transición del estado intermedio así mismo con la expresión sin cerradura de Kleene
+    Transicion ciclo = automataFinito.crearTransicion(estadoIntermedio, expresion, estadoIntermedio);
+
+    // Crear la transición de palabra vacía al estado destino
+    Transicion salida = automataFinito.crearTransicion(
+            estadoIntermedio,
+            new Expresion("_"),
+            estadoDestino
+    );
+    if (notificar)
+      avisar(new PasoConversion(
+              paso,
+              PasoConversion.TiposPaso.CERRADURA_KLEENE,
+              expresionOriginal,
+              List.of(entrada, ciclo, salida)
+      ));
+
+    pendientes.push(ciclo);
+  }
+
+  /**
+   * Avisar un paso al oyente, midiendo el tiempo de presentación si se está midiendo
+   * @param paso Paso de la conversión
+   */
+  private void avisar(PasoConversion paso) {
+    if (!medir) {
+      oyente.paso(paso);
+      return;
+    }
+    long inicio = System.nanoTime();
+    oyente.paso(paso);
+    nanosPresentacion += System.nanoTime() - inicio;
+  }
+
+  /**
+   * Agregar las transiciones de un paso a los pendientes, en orden inverso para que la primera quede en la cima
+   * @param transiciones Transiciones creadas en el paso
+   */
+  private void agregarPendientes(ArrayList<Transicion> transiciones) {
+    for (int i = transiciones.size() - 1; i >= 0; i--) pendientes.push(transiciones.get(i));
+  }
+
+  /**
+   * Identificar si la expresión se trata de una unión, concatenación o cerradura de Kleene.
+   * Transformar la expresión según sea el caso.
+   * El tipo ya viene en el nodo del árbol sintáctico, por lo que no se vuelve a separar la expresión.
+   * Si se está midiendo, el tiempo de la transformación se suma a su tipo de paso, sin el tiempo de presentación.
+   * @param estadoOrigen Estado de donde parte la expresión
+   * @param expresion Expresión a tratar
+   * @param estadoDestino Estado a donde llegará la expresión
+   */
+  private void identificarSiguienteTransformacion(Estado estadoOrigen, Expresion expresion, Estado estadoDestino) {
+    PasoConversion.TiposPaso tipo;
+    long inicio = medir ? System.nanoTime() : 0;
+    long presentacionAntes = nanosPresentacion;
+    switch (expresion.getNodo().getTipo()) {
+      case UNION -> {
+        transformarUnion(estadoOrigen, expresion, estadoDestino);
+        tipo = PasoConversion.TiposPaso.UNION;
+      }
+      case CONCATENACION -> {
+        transformarConcatenacion(estadoOrigen, expresion, estadoDestino);
+        tipo = PasoConversion.TiposPaso.CONCATENACION;
+      }
+      case CERRADURA_KLEENE -> {
+        transformarCerraduraKleene(estadoOrigen, expresion, estadoDestino);
+        tipo = PasoConversion.TiposPaso.CERRADURA_KLEENE;
+      }
+      // Los simbolos, expresiones vacías y agrupaciones no se transforman
+      default -> {
+        return;
+      }
+    }
+    if (medir) nanosPasos[tipo.ordinal()] += System.nanoTime() - inicio - (nanosPresentacion - presentacionAntes);
+  }
+
+  /**
+   * Obtener el Autómata Finito No Determinista, ya convertido después de llamar a convertir()
+   * @return El AFN de la expresión regular
+   */
+  public AFN getAFN() { return this.automataFinito; }
+
+  /**
+   * Imprimir el Autómata Finito No Determinista resultante en la salida estándar
+   * @see AFN#toString()
+   */
+  public void imprimirAFN() {
+    System.out.println("\nAFN resultante: ");
+    System.out.println(this.automataFinito);
+  }
+}
\ No newline at end of file
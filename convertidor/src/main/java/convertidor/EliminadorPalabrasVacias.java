@@ -0,0 +1,197 @@
+package convertidor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Clase que convierte un AFN con transiciones de palabra vacía en un AFN equivalente sin ellas.
+ * Primero calcula una sola vez la cerradura de palabra vacía de cada estado: con el algoritmo de Tarjan
+ * se agrupan los estados que se alcanzan entre sí (componentes fuertemente conexas), que comparten cerradura,
+ * y las cerraduras se calculan en orden topológico inverso reutilizando las de las componentes siguientes.
+ * Después cada estado toma las transiciones con simbolo de todos los estados de su cerradura,
+ * y solo se conservan los estados que se alcanzan desde el estado inicial.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see AFN#sinPalabrasVacias()
+ */
+public class EliminadorPalabrasVacias {
+  /** Número de estados del AFN original */
+  private final int numeroEstados;
+  /** Para cada estado, donde inician sus transiciones de palabra vacía en destinosVacios */
+  private final int[] inicioVacias;
+  /** Destinos de las transiciones de palabra vacía, agrupados por estado de origen */
+  private final int[] destinosVacios;
+  /** Para cada estado, donde inician sus transiciones con simbolo */
+  private final int[] inicioSimbolos;
+  /** Simbolos de las transiciones, agrupados por estado de origen */
+  private final char[] simbolos;
+  /** Destinos de las transiciones con simbolo, agrupados por estado de origen */
+  private final int[] destinosSimbolos;
+  /** Componente fuertemente conexa de cada estado */
+  private final int[] componente;
+  /** Cerradura de palabra vacía de cada componente, como arreglo de estados */
+  private int[][] cerraduras;
+
+  /**
+   * Instanciar el eliminador y calcular las cerraduras de palabra vacía
+   * @param automata AFN ya convertido
+   */
+  private EliminadorPalabrasVacias(AFN automata) {
+    this.numeroEstados = automata.getNumeroEstados();
+
+    // Las transiciones ya agrupadas por estado de origen
+    IndiceAdyacencia indice = automata.getIndice();
+    this.inicioVacias = indice.getInicioVacias();
+    this.destinosVacios = indice.getDestinosVacios();
+    this.inicioSimbolos = indice.getInicioSimbolos();
+    this.simbolos = indice.getSimbolosTransiciones();
+    this.destinosSimbolos = indice.getDestinosSimbolos();
+
+    this.componente = new int[numeroEstados];
+    calcularCerraduras();
+  }
+
+  /**
+   * Crear el AFN sin transiciones de palabra vacía equivalente a un AFN
+   * @param automata AFN ya convertido
+   * @return Un AFN nuevo, el original no se modifica
+   */
+  public static AFN eliminar(AFN automata) { return new EliminadorPalabrasVacias(automata).construir(automata); }
+
+  /**
+   * Encontrar las componentes fuertemente conexas de las transiciones de palabra vacía con el algoritmo de Tarjan,
+   * sin recursión para no llenar la pila de llamadas, y calcular la cerradura de cada componente.
+   * Tarjan termina cada componente después de todas las que se alcanzan desde ella,
+   * por lo que al terminarla ya están calculadas las cerraduras que necesita.
+   */
+  private void calcularCerraduras() {
+    int[] orden = new int[numeroEstados];      // Orden de visita de cada estado, 0 si no se ha visitado
+    int[] bajo = new int[numeroEstados];       // Menor orden alcanzable desde el estado
+    int[] siguienteArista = new int[numeroEstados];
+    int[] pilaLlamadas = new int[numeroEstados];
+    int[] pilaComponente = new int[numeroEstados];
+    boolean[] enPila = new boolean[numeroEstados];
+    int cimaLlamadas = 0, cimaComponente = 0, contador = 0, numeroComponentes = 0;
+    this.cerraduras = new int[numeroEstados][];
+    // Para no repetir estados al juntar cerraduras, marcado con el número de componente + 1
+    int[] marcas = new int[numeroEstados];
+    int[] cerradura = new int[numeroEstados];
+
+    for (int raiz = 0; raiz < numeroEstados; raiz++) {
+      if (orden[raiz] != 0) continue;
+      pilaLlamadas[cimaLlamadas++] = raiz;
+      orden[raiz] = bajo[raiz] = ++contador;
+      siguienteArista[raiz] = inicioVacias[raiz];
+      pilaComponente[cimaComponente++] = raiz;
+      enPila[raiz] = true;
+
+      while (cimaLlamadas > 0) {
+        int q = pilaLlamadas[cimaLlamadas - 1];
+        if (siguienteArista[q] < inicioVacias[q + 1]) {
+          int r = destinosVacios[siguienteArista[q]++];
+          if (orden[r] == 0) {
+            // Visitar r como si fuera una llamada recursiva
+            orden[r] = bajo[r] = ++contador;
+            siguienteArista[r] = inicioVacias[r];
+            pilaComponente[cimaComponente++] = r;
+            enPila[r] = true;
+            pilaLlamadas[cimaLlamadas++] = r;
+          } else if (enPila[r]) bajo[q] = Math.min(bajo[q], orden[r]);
+          continue;
+        }
+
+        // Ya se recorrieron todas las aristas de q
+        cimaLlamadas--;
+        if (cimaLlamadas > 0) {
+          int padre = pilaLlamadas[cimaLlamadas - 1];
+          bajo[padre] = Math.min(bajo[padre], bajo[q]);
+        }
+        if (bajo[q] != orden[q]) continue;
+
+        // q es la raíz de una componente, sacar sus estados de la pila
+        int c = numeroComponentes++;
+        int tamano = 0;
+        int inicioComponente = cimaComponente;
+        do {
+          int s = pilaComponente[--inicioComponente];
+          enPila[s] = false;
+          componente[s] = c;
+          marcas[s] = c + 1;
+          cerradura[tamano++] = s;
+        } while (pilaComponente[inicioComponente] != q);
+
+        // Agregar las cerraduras de las componentes que se alcanzan, ya calculadas
+        for (int i = inicioComponente; i < cimaComponente; i++) {
+          int s = pilaComponente[i];
+          for (int k = inicioVacias[s]; k < inicioVacias[s + 1]; k++) {
+            int destino = componente[destinosVacios[k]];
+            if (destino == c) continue;
+            for (int r : cerraduras[destino])
+              if (marcas[r] != c + 1) {
+                marcas[r] = c + 1;
+                cerradura[tamano++] = r;
+              }
+          }
+        }
+        cimaComponente = inicioComponente;
+        cerraduras[c] = Arrays.copyOf(cerradura, tamano);
+      }
+    }
+  }
+
+  /**
+   * Construir el AFN sin palabras vacías, agregando los estados en el orden en que se alcanzan
+   * @param automata AFN original
+   * @return El AFN sin transiciones de palabra vacía
+   */
+  private AFN construir(AFN automata) {
+    AFN resultado = new AFN(new Estado(0, Estado.TiposEstados.INICIAL));
+    StringBuilder alfabeto = new StringBuilder();
+    for (char simbolo : automata.getAlfabeto()) alfabeto.append(simbolo);
+    resultado.calcularAlfabeto(alfabeto.toString());
+
+    Estado[] nuevos = new Estado[numeroEstados];
+    int[] cola = new int[numeroEstados];
+    int inicioCola = 0, finCola = 0;
+    int inicial = automata.getEstadoInicial().getNumero();
+    nuevos[inicial] = resultado.getEstadoInicial();
+    if (contieneFinal(automata, inicial)) resultado.agregarEstadoFinal(nuevos[inicial]);
+    cola[finCola++] = inicial;
+
+    // Las expresiones de un simbolo se comparten entre transiciones
+    HashMap<Character, Expresion> expresiones = new HashMap<>();
+    HashSet<Long> agregadas = new HashSet<>();
+    while (inicioCola < finCola) {
+      int p = cola[inicioCola++];
+      agregadas.clear();
+      for (int q : cerraduras[componente[p]]) {
+        for (int k = inicioSimbolos[q]; k < inicioSimbolos[q + 1]; k++) {
+          int r = destinosSimbolos[k];
+          // No repetir la misma transición desde p
+          if (!agregadas.add(((long) simbolos[k] << 32) | r)) continue;
+
+          if (nuevos[r] == null) {
+            nuevos[r] = contieneFinal(automata, r) ? resultado.crearEstadoFinal() : resultado.crearEstado();
+            cola[finCola++] = r;
+          }
+          Expresion simbolo = expresiones.computeIfAbsent(simbolos[k], c -> new Expresion(String.valueOf(c)));
+          resultado.crearTransicion(nuevos[p], simbolo, nuevos[r]);
+        }
+      }
+    }
+
+    return resultado;
+  }
+
+  /**
+   * Verificar si la cerradura de un estado contiene algún estado final
+   * @param automata AFN original
+   * @param q Número del estado
+   * @return True si desde q se llega a un estado final solo con palabras vacías
+   */
+  private boolean contieneFinal(AFN automata, int q) {
+    for (int s : cerraduras[componente[q]])
+      if (automata.esFinal(s)) return true;
+    return false;
+  }
+}
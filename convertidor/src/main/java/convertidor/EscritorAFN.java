@@ -0,0 +1,163 @@
+package convertidor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Clase que escribe el quíntuplo de un AFN (K, E, F, S y D) directamente en un Appendable o un OutputStream.
+ * El texto se arma en un buffer que se vacía cada pocos KB, por lo que el tiempo crece linealmente con el número
+ * de estados y transiciones. Las transiciones se toman ya agrupadas por estado de origen del índice de adyacencia
+ * del AFN y solo se ordena cada grupo por su simbolo, sin modificar el AFN.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see AFN#toString()
+ */
+public class EscritorAFN {
+  /** Caracteres acumulados a partir de los que se vacía el buffer */
+  private static final int TAMANO_BUFFER = 1 << 13;
+
+  /** Donde se escribe el AFN */
+  private final Appendable destino;
+  /** Texto que aún no se escribe en el destino */
+  private final StringBuilder buffer;
+
+  /**
+   * Instanciar un escritor
+   * @param destino Donde se escribe el AFN
+   */
+  private EscritorAFN(Appendable destino) {
+    this.destino = destino;
+    this.buffer = new StringBuilder(TAMANO_BUFFER + 64);
+  }
+
+  /**
+   * Escribir el quíntuplo del AFN como texto, igual que AFN#toString().
+   * Si se está midiendo, el tiempo de escritura se suma a la presentación en las métricas globales.
+   * @param automata AFN a escribir, no se modifica
+   * @param destino Donde se escribe
+   * @throws IOException Si no se puede escribir en el destino
+   */
+  public static void escribirTexto(AFN automata, Appendable destino) throws IOException {
+    boolean medir = Metricas.medir();
+    long inicio = medir ? System.nanoTime() : 0;
+    new EscritorAFN(destino).escribir(automata);
+    if (medir) Metricas.global().registrarPresentacion(System.nanoTime() - inicio);
+  }
+
+  /**
+   * Escribir el quíntuplo del AFN en UTF-8.
+   * El OutputStream no se cierra, solo se vacía al terminar.
+   * @param automata AFN a escribir, no se modifica
+   * @param destino Donde se escriben los bytes
+   * @throws IOException Si no se puede escribir en el destino
+   */
+  public static void escribirBytes(AFN automata, OutputStream destino) throws IOException {
+    BufferedWriter escritor = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8));
+    escribirTexto(automata, escritor);
+    escritor.flush();
+  }
+
+  /**
+   * Escribir todo el quíntuplo
+   * @param automata AFN a escribir
+   * @throws IOException Si no se puede escribir en el destino
+   */
+  private void escribir(AFN automata) throws IOException {
+    List<Estado> estados = automata.getEstados();
+
+    // K = {q0, q1, ...}, los estados ya están ordenados por su número
+    buffer.append("K = {");
+    for (int q = 0; q < estados.size(); q++) {
+      if (q > 0) buffer.append(", ");
+      buffer.append('q').append(q);
+      vaciarSiLleno();
+    }
+    buffer.append("}\n");
+
+    // E = {a, b, ...}
+    buffer.append("E = {");
+    boolean primero = true;
+    for (char simbolo : automata.getAlfabeto()) {
+      if (!primero) buffer.append(", ");
+      primero = false;
+      buffer.append(simbolo);
+    }
+    buffer.append("}\n");
+
+    // F = {q1, ...}
+    buffer.append("F = {");
+    primero = true;
+    for (int q = 0; q < estados.size(); q++) {
+      if (!automata.esFinal(q)) continue;
+      if (!primero) buffer.append(", ");
+      primero = false;
+      buffer.append('q').append(q);
+      vaciarSiLleno();
+    }
+    buffer.append("}\n");
+
+    buffer.append("S = ").append(automata.getEstadoInicial().getNombre()).append('\n');
+
+    // D, solo las transiciones donde la expresión es un simbolo o la palabra vacía
+    buffer.append("D =\nq\to\tD(q,o)\n");
+    escribirTransiciones(automata.getIndice());
+
+    destino.append(buffer);
+    buffer.setLength(0);
+  }
+
+  /**
+   * Escribir las transiciones de expresión minima en el orden de Transicion#compareTo, sin modificar el AFN.
+   * En el índice ya están agrupadas por estado de origen, solo falta ordenar cada grupo por su simbolo.
+   * Cada clave es el simbolo seguido de la posición de la transición en su grupo, así el orden es estable:
+   * las del mismo simbolo quedan en el orden en que se crearon, igual que al ordenar la lista completa.
+   * @param indice Transiciones del AFN agrupadas por origen
+   * @throws IOException Si no se puede escribir en el destino
+   */
+  private void escribirTransiciones(IndiceAdyacencia indice) throws IOException {
+    int[] inicioVacias = indice.getInicioVacias();
+    int[] destinosVacios = indice.getDestinosVacios();
+    int[] inicioSimbolos = indice.getInicioSimbolos();
+    char[] simbolos = indice.getSimbolosTransiciones();
+    int[] destinosSimbolos = indice.getDestinosSimbolos();
+    long[] claves = new long[16];
+
+    for (int q = 0; q < indice.getNumeroEstados(); q++) {
+      // Primero van las de palabra vacía y después las de simbolo
+      int vacias = inicioVacias[q + 1] - inicioVacias[q];
+      int grado = indice.getGradoSalida(q);
+      if (grado > claves.length) claves = new long[Math.max(grado, claves.length * 2)];
+      for (int i = 0; i < grado; i++) {
+        char simbolo = i < vacias ? SimuladorAFN.PALABRA_VACIA : simbolos[inicioSimbolos[q] + i - vacias];
+        claves[i] = (long) simbolo << 32 | i;
+      }
+      if (grado > 1) Arrays.sort(claves, 0, grado);
+
+      for (int j = 0; j < grado; j++) {
+        int i = (int) claves[j];
+        int destino = i < vacias
+                ? destinosVacios[inicioVacias[q] + i]
+                : destinosSimbolos[inicioSimbolos[q] + i - vacias];
+        buffer.append('q').append(q)
+              .append('\t').append((char) (claves[j] >>> 32))
+              .append("\tq").append(destino)
+              .append('\n');
+        vaciarSiLleno();
+      }
+    }
+  }
+
+  /**
+   * Escribir el buffer en el destino si ya tiene suficientes caracteres
+   * @throws IOException Si no se puede escribir en el destino
+   */
+  private void vaciarSiLleno() throws IOException {
+    if (buffer.length() < TAMANO_BUFFER) return;
+    destino.append(buffer);
+    buffer.setLength(0);
+  }
+}
@@ -1,11 +1,14 @@
+package convertidor;
+
 /**
  * Clase para representar un estado del AFN
- * Implementa la interfaz Comparable para poder ordenar estados en base a su nombre
+ * Se identifica por un número entero, el nombre qn solo se crea al mostrarlo.
+ * Implementa la interfaz Comparable para poder ordenar estados en base a su número
  * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
  */
 public class Estado implements Comparable<Estado> {
-  /** Nombre o etiqueta del estado */
-  private final String nombre;
+  /** Número del estado, es el subindice de su nombre qn */
+  private final int numero;
   /** Tipo de estado (inicial, no final o final) */
   private final TiposEstados tipoEstado;
   /** Para asignar e identificar el tipo de estado */
@@ -13,11 +16,11 @@ public class Estado implements Comparable<Estado> {
 
   /**
    * Instanciar un estado
-   * @param nombre Nombre o etiqueta del estado (qn)
+   * @param numero Número del estado, n en qn
    * @param tipoEstado Tipo de estado (inicial, no final, final)
    */
-  public Estado(String nombre, TiposEstados tipoEstado) {
-    this.nombre = nombre;
+  public Estado(int numero, TiposEstados tipoEstado) {
+    this.numero = numero;
     this.tipoEstado = tipoEstado;
   }
 
@@ -25,7 +28,13 @@ public class Estado implements Comparable<Estado> {
    * Obtener el nombre del estado
    * @return El nombre del estado (qn)
    */
-  public String getNombre() { return this.nombre; }
+  public String getNombre() { return "q" + this.numero; }
+
+  /**
+   * Obtener el número del estado
+   * @return El subindice n del nombre qn
+   */
+  public int getNumero() { return this.numero; }
 
   /**
    * Obtener una representación del estado dentro de un circulo.
@@ -34,21 +43,17 @@ public class Estado implements Comparable<Estado> {
   @Override
   public String toString() {
     return switch (tipoEstado) {
-      case INICIAL -> ">(" + nombre + ")";
-      case NOFINAL -> "(" + nombre + ")";
-      case FINAL -> "((" + nombre + "))";
+      case INICIAL -> ">(q" + numero + ")";
+      case NOFINAL -> "(q" + numero + ")";
+      case FINAL -> "((q" + numero + "))";
     };
   }
 
   /**
-   * Para ordenar los estados en base a los números de su nombre
+   * Para ordenar los estados en base a su número
    * @param o El estado con el que será comparado
    * @return Entero resultado de la comparación
    */
   @Override
-  public int compareTo(Estado o) {
-    int n1 = Integer.parseInt(this.nombre.substring(1));
-    int n2 = Integer.parseInt(o.nombre.substring(1));
-    return Integer.compare(n1, n2);
-  }
+  public int compareTo(Estado o) { return Integer.compare(this.numero, o.numero); }
 }
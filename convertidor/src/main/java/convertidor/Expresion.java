@@ -0,0 +1,178 @@
+package convertidor;
+
+import java.util.ArrayList;
+
+/**
+ * Clase para representar una expresión regular.
+ * Contiene los métodos para identificar si se trata de una unión, concatenación o cerradura de Kleene.
+ * La clasificación se toma del árbol sintáctico, por lo que no se vuelve a recorrer el String.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ */
+public class Expresion {
+  /** Nodo del árbol sintáctico que representa la expresión regular */
+  private NodoExpresion nodo;
+
+  /**
+   * Instanciar una expresión regular
+   * @param expresionRegular Expresión regular que representa
+   * @see AnalizadorSintactico#analizar(String)
+   */
+  public Expresion(String expresionRegular) { this.nodo = AnalizadorSintactico.analizar(expresionRegular); }
+
+  /**
+   * Instanciar una expresión a partir de un nodo ya analizado
+   * @param nodo Nodo del árbol sintáctico
+   */
+  public Expresion(NodoExpresion nodo) { this.nodo = nodo; }
+
+  /**
+   * Verificar que la expresión regular sea correcta para ser convertida
+   * Ejemplo: (a+b**] ✖️
+   * @see Validador
+   * @return true si la expresión regular es válida
+   */
+  public boolean esValida() {
+    // Inválida si no tiene () o [] balanceados
+    if (this.nodo.getTipo() == NodoExpresion.TiposExpresion.INVALIDA) return false;
+    return Validador.esValida(this.getExpresionRegular());
+  }
+
+  /**
+   * Verificar que los parentesis y corchetes de la expresión agrupen correctamente
+   * Ejemplo: [(a+b)] ✅, ([a+b)]] ✖️
+   * @param expresionRegular Expresión regular a examinar
+   * @return True si los () y [] están balanceados
+   */
+  static public boolean estaBalanceada(String expresionRegular) {
+    // Pila de caracteres de apertura, nunca hay más aperturas que caracteres
+    char[] pila = new char[expresionRegular.length()];
+    int cima = 0;
+
+    for (int i = 0; i < expresionRegular.length(); i++) {
+      char c = expresionRegular.charAt(i);
+
+      // Si hay un caracter de apertura, guardarlo en la pila
+      if (c == '(' || c == '[') pila[cima++] = c;
+
+      // Si hay un caracter de cierre
+      if (c == ')' || c == ']') {
+        // si el primer caracter es de cierre, es incorrecto
+        if (cima == 0) return false;
+
+        char ultimo = pila[--cima];
+        // Si el ultimo caracter no corresponde al de cierre, es incorrecto
+        if (c == ')' && ultimo != '(') return false;
+        if (c == ']' && ultimo != '[') return false;
+      }
+    }
+
+    // Si quedo algun caracter en la pila, es incorrecto
+    return cima == 0;
+  }
+
+  /**
+   * Normalizar el texto de una expresión regular: quitar los espacios en blanco y una agrupación exterior,
+   * de modo que expresiones escritas distinto pero iguales tengan el mismo texto.
+   * Ejemplo: ( a + b ) -> a+b, (a)+(b) -> (a)+(b)
+   * @param expresionRegular Expresión regular a normalizar
+   * @return El texto normalizado
+   */
+  static public String normalizar(String expresionRegular) {
+    String sinEspacios = expresionRegular.replaceAll("\\s+", "");
+    if ((sinEspacios.startsWith("(") && sinEspacios.endsWith(")")) ||
+        (sinEspacios.startsWith("[") && sinEspacios.endsWith("]"))) {
+      String sinAgrupacion = sinEspacios.substring(1, sinEspacios.length() - 1);
+      // Solo si la apertura y el cierre exteriores se corresponden, no en (a)+(b)
+      if (estaBalanceada(sinAgrupacion)) return sinAgrupacion;
+    }
+    return sinEspacios;
+  }
+
+  /**
+   * Verificar si la expresión solo contiene un simbolo del alfabeto
+   * @return True si la expresión regular tiene un caracter de longitud
+   */
+  public boolean esExpresionMinima() { return this.nodo.longitud() == 1; }
+
+  /**
+   * Verificar si la expresión regular se trata de una unión
+   * @return True si la expresión se separa en más de una subexpresión por uniones
+   */
+  public boolean esUnion() { return this.nodo.getTipo() == NodoExpresion.TiposExpresion.UNION; }
+
+  /**
+   * Verificar si la expresión regular se trata de una concatenación
+   * @return True si la expresión se separa en más de una subexpresión por concatenaciones
+   */
+  public boolean esConcatenacion() { return this.nodo.getTipo() == NodoExpresion.TiposExpresion.CONCATENACION; }
+
+  /**
+   * Verificar si la expresion regular se trata de una cerradura de Kleene
+   * @return si termina con *, o empieza y termina con ()* o []* y si a expresión no es concatenación
+   */
+  public boolean esCerraduraKleene() {
+    return this.nodo.getTipo() == NodoExpresion.TiposExpresion.CERRADURA_KLEENE;
+  }
+
+  /**
+   * Separar la expresión regular por los metacaracteres de unión (+, | y ,)
+   * Ejemplo: a|b+c,d = a, b, c, d
+   * @param expresionRegular Expresión regular a separar
+   * @return Arreglo de sub expresiones resultantes
+   */
+  static public ArrayList<Expresion> separarUniones(Expresion expresionRegular) {
+    return separarHijos(expresionRegular, NodoExpresion.TiposExpresion.UNION);
+  }
+
+  /**
+   * Separar la expresión regular por concatenaciones
+   * Ejemplo: a(bc)d* = a, (bc), d*
+   * @param expresionRegular Expresión regular a separar
+   * @return Arreglo de sub expresiones resultantes
+   */
+  static public ArrayList<Expresion> separarConcatenaciones(Expresion expresionRegular) {
+    return separarHijos(expresionRegular, NodoExpresion.TiposExpresion.CONCATENACION);
+  }
+
+  /**
+   * Obtener las subexpresiones del nodo si es del tipo indicado.
+   * Se crea una Expresion nueva por cada hijo, pues la cerradura de Kleene modifica la expresión.
+   * @param expresionRegular Expresión regular a separar
+   * @param tipo Tipo de nodo que se puede separar
+   * @return Arreglo de sub expresiones, o solo la expresión completa si no es del tipo indicado
+   */
+  private static ArrayList<Expresion> separarHijos(Expresion expresionRegular, NodoExpresion.TiposExpresion tipo) {
+    NodoExpresion nodo = expresionRegular.nodo;
+    ArrayList<Expresion> subexpresiones = new ArrayList<>();
+
+    if (nodo.getTipo() != tipo) {
+      subexpresiones.add(new Expresion(nodo));
+      return subexpresiones;
+    }
+
+    for (int i = 0; i < nodo.getNumeroHijos(); i++)
+      subexpresiones.add(new Expresion(nodo.getHijo(i)));
+    return subexpresiones;
+  }
+
+  /**
+   * Quitar el metacaracter de cerradura de Kleene *.
+   * Si la cerradura de Kleene viene con agrupación, también los quita.
+   * Ejemplo: (a+b)* -> a+b
+   */
+  public void quitarCerraduraKleene() {
+    if(esCerraduraKleene()) this.nodo = this.nodo.getHijo(0);
+  }
+
+  /**
+   * Obtener el nodo del árbol sintáctico de la expresión
+   * @return El nodo que representa la expresión
+   */
+  public NodoExpresion getNodo() { return this.nodo; }
+
+  /**
+   * Obtener la expresión regular
+   * @return Expresión regular como String
+   */
+  public String getExpresionRegular() { return this.nodo.getTexto(); }
+}
@@ -0,0 +1,39 @@
+package convertidor;
+
+/**
+ * Excepción para una expresión regular que no se puede convertir.
+ * Indica la regla que no se cumple y la posición del caracter donde se encontró el error.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see Validador
+ */
+public class ExpresionInvalidaException extends IllegalArgumentException {
+  /** Versión para serializar la excepción */
+  private static final long serialVersionUID = 1L;
+  /** Regla que no se cumple */
+  private final Validador.Reglas regla;
+  /** Posición del caracter donde se encontró el error, empezando en 0 */
+  private final int posicion;
+
+  /**
+   * Instanciar la excepción
+   * @param regla Regla que no se cumple
+   * @param posicion Posición del error
+   */
+  public ExpresionInvalidaException(Validador.Reglas regla, int posicion) {
+    super("\nExpresión regular inválida: " + regla.getDescripcion() + " en la posición " + posicion);
+    this.regla = regla;
+    this.posicion = posicion;
+  }
+
+  /**
+   * Obtener la regla que no se cumple
+   * @return La regla
+   */
+  public Validador.Reglas getRegla() { return regla; }
+
+  /**
+   * Obtener la posición del error
+   * @return Posición del caracter, empezando en 0
+   */
+  public int getPosicion() { return posicion; }
+}
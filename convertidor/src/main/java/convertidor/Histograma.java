@@ -0,0 +1,72 @@
+package convertidor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase que cuenta latencias en nanosegundos agrupadas en potencias de 2: la cubeta i cuenta las latencias
+ * de 2^i a 2^(i+1) - 1 ns. Registrar cuesta un incremento sin bloqueos, por lo que se puede usar desde
+ * muchos hilos a la vez. Los percentiles son aproximados, se redondean hacia arriba a una potencia de 2.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see Metricas
+ */
+public class Histograma {
+  /** Número de cubetas, una por bit de un long */
+  public static final int NUMERO_CUBETAS = Long.SIZE;
+
+  /** Número de latencias en cada cubeta */
+  private final LongAdder[] cubetas;
+
+  /** Instanciar un histograma vacío */
+  public Histograma() {
+    this.cubetas = new LongAdder[NUMERO_CUBETAS];
+    for (int i = 0; i < NUMERO_CUBETAS; i++) cubetas[i] = new LongAdder();
+  }
+
+  /**
+   * Registrar una latencia
+   * @param nanosegundos Latencia, los valores menores a 1 cuentan como 1
+   */
+  public void registrar(long nanosegundos) { cubetas[cubeta(nanosegundos)].increment(); }
+
+  /**
+   * Obtener cuántas latencias hay en cada cubeta
+   * @return Arreglo nuevo de NUMERO_CUBETAS posiciones
+   */
+  public long[] getCuentas() {
+    long[] cuentas = new long[NUMERO_CUBETAS];
+    for (int i = 0; i < NUMERO_CUBETAS; i++) cuentas[i] = cubetas[i].sum();
+    return cuentas;
+  }
+
+  /** Vaciar todas las cubetas */
+  public void reiniciar() {
+    for (LongAdder cubeta : cubetas) cubeta.reset();
+  }
+
+  /**
+   * Calcular la cubeta de una latencia
+   * @param nanosegundos Latencia
+   * @return La posición de su bit más alto
+   */
+  static int cubeta(long nanosegundos) { return 63 - Long.numberOfLeadingZeros(Math.max(nanosegundos, 1)); }
+
+  /**
+   * Calcular un percentil con las cuentas de un histograma
+   * @param cuentas Cuentas de cada cubeta
+   * @param percentil Percentil de 0 a 100
+   * @return El límite superior de la cubeta del percentil en nanosegundos, 0 si no hay latencias
+   */
+  public static long percentil(long[] cuentas, double percentil) {
+    long total = 0;
+    for (long cuenta : cuentas) total += cuenta;
+    if (total == 0) return 0;
+
+    long objetivo = Math.max(1, (long) Math.ceil(total * percentil / 100));
+    long acumulado = 0;
+    for (int i = 0; i < cuentas.length; i++) {
+      acumulado += cuentas[i];
+      if (acumulado >= objetivo) return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+    }
+    return Long.MAX_VALUE;
+  }
+}
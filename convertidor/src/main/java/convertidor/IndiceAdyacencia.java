@@ -0,0 +1,154 @@
+package convertidor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Índice de las transiciones de un AFN agrupadas por estado de origen (formato CSR, compressed sparse row).
+ * Las transiciones de palabra vacía y las de simbolo van en arreglos separados: las de un estado q son las
+ * posiciones de inicio[q] a inicio[q + 1] - 1 de sus destinos, así recorrer las que salen de un estado cuesta
+ * O(grado de salida) en lugar de recorrer toda la lista de transiciones.
+ * Se construye una sola vez en O(V + E) con dos pasadas sobre las transiciones, primero se cuentan las de cada
+ * estado y después se acomodan, conservando el orden en que se crearon. Solo se toman en cuenta las transiciones
+ * con un simbolo o la palabra vacía, como en la tabla D.
+ * Los arreglos no se copian al obtenerlos y no se deben modificar, así el mismo índice lo comparten los
+ * simuladores, la eliminación de palabras vacías, la escritura del quíntuplo y el archivo binario.
+ * Es inmutable, por lo que se puede usar desde varios hilos.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see AFN#getIndice()
+ */
+public class IndiceAdyacencia {
+  /** Número de estados del AFN */
+  private final int numeroEstados;
+  /** Para cada estado, donde inician sus transiciones de palabra vacía en destinosVacios */
+  private final int[] inicioVacias;
+  /** Destinos de las transiciones de palabra vacía, agrupados por estado de origen */
+  private final int[] destinosVacios;
+  /** Para cada estado, donde inician sus transiciones con simbolo en simbolos y destinosSimbolos */
+  private final int[] inicioSimbolos;
+  /** Simbolos de las transiciones, agrupados por estado de origen */
+  private final char[] simbolos;
+  /** Destinos de las transiciones con simbolo, agrupados por estado de origen */
+  private final int[] destinosSimbolos;
+
+  /**
+   * Construir el índice de un AFN
+   * @param automata AFN ya convertido
+   */
+  IndiceAdyacencia(AFN automata) {
+    // El indice de cada estado es su número
+    this.numeroEstados = automata.getNumeroEstados();
+
+    // Contar las transiciones de cada estado para agruparlas por origen
+    List<Transicion> transiciones = automata.getTransiciones();
+    this.inicioVacias = new int[numeroEstados + 1];
+    this.inicioSimbolos = new int[numeroEstados + 1];
+    for (Transicion t : transiciones) {
+      if (!t.getExpresion().esExpresionMinima()) continue;
+      int origen = t.getEstadoOrigen().getNumero();
+      if (esPalabraVacia(t)) inicioVacias[origen + 1]++;
+      else inicioSimbolos[origen + 1]++;
+    }
+    for (int q = 0; q < numeroEstados; q++) {
+      inicioVacias[q + 1] += inicioVacias[q];
+      inicioSimbolos[q + 1] += inicioSimbolos[q];
+    }
+
+    // Acomodar las transiciones en la posición de su estado de origen
+    this.destinosVacios = new int[inicioVacias[numeroEstados]];
+    this.simbolos = new char[inicioSimbolos[numeroEstados]];
+    this.destinosSimbolos = new int[inicioSimbolos[numeroEstados]];
+    int[] siguienteVacia = Arrays.copyOf(inicioVacias, numeroEstados);
+    int[] siguienteSimbolo = Arrays.copyOf(inicioSimbolos, numeroEstados);
+    for (Transicion t : transiciones) {
+      if (!t.getExpresion().esExpresionMinima()) continue;
+      int origen = t.getEstadoOrigen().getNumero();
+      int destino = t.getEstadoDestino().getNumero();
+      if (esPalabraVacia(t)) destinosVacios[siguienteVacia[origen]++] = destino;
+      else {
+        int k = siguienteSimbolo[origen]++;
+        simbolos[k] = t.getExpresion().getNodo().caracterEn(0);
+        destinosSimbolos[k] = destino;
+      }
+    }
+  }
+
+  /**
+   * Obtener el número de estados
+   * @return Número de estados del AFN
+   */
+  public int getNumeroEstados() { return numeroEstados; }
+
+  /**
+   * Obtener el número de transiciones de palabra vacía
+   * @return Número de transiciones de palabra vacía
+   */
+  public int getNumeroTransicionesVacias() { return destinosVacios.length; }
+
+  /**
+   * Obtener el número de transiciones con simbolo
+   * @return Número de transiciones con simbolo
+   */
+  public int getNumeroTransicionesSimbolos() { return destinosSimbolos.length; }
+
+  /**
+   * Obtener cuántas transiciones salen de un estado
+   * @param estado Número del estado
+   * @return Número de transiciones de palabra vacía y con simbolo que salen del estado
+   */
+  public int getGradoSalida(int estado) {
+    return inicioVacias[estado + 1] - inicioVacias[estado] + inicioSimbolos[estado + 1] - inicioSimbolos[estado];
+  }
+
+  /**
+   * Obtener los simbolos distintos que aparecen en las transiciones, sin la palabra vacía
+   * @return Arreglo ordenado de simbolos
+   */
+  char[] getSimbolos() {
+    char[] distintos = simbolos.clone();
+    Arrays.sort(distintos);
+    int n = 0;
+    for (int i = 0; i < distintos.length; i++)
+      if (i == 0 || distintos[i] != distintos[i - 1]) distintos[n++] = distintos[i];
+    return Arrays.copyOf(distintos, n);
+  }
+
+  /**
+   * Obtener donde inician las transiciones de palabra vacía de cada estado, sin copiar el arreglo
+   * @return Arreglo de numeroEstados + 1 posiciones en getDestinosVacios()
+   */
+  int[] getInicioVacias() { return inicioVacias; }
+
+  /**
+   * Obtener los destinos de las transiciones de palabra vacía agrupados por origen, sin copiar el arreglo
+   * @return Destinos de las transiciones de palabra vacía
+   */
+  int[] getDestinosVacios() { return destinosVacios; }
+
+  /**
+   * Obtener donde inician las transiciones con simbolo de cada estado, sin copiar el arreglo
+   * @return Arreglo de numeroEstados + 1 posiciones en getSimbolosTransiciones() y getDestinosSimbolos()
+   */
+  int[] getInicioSimbolos() { return inicioSimbolos; }
+
+  /**
+   * Obtener los simbolos de las transiciones agrupados por origen, sin copiar el arreglo
+   * @return Simbolo de cada transición
+   */
+  char[] getSimbolosTransiciones() { return simbolos; }
+
+  /**
+   * Obtener los destinos de las transiciones con simbolo agrupados por origen, sin copiar el arreglo
+   * @return Destino de cada transición
+   */
+  int[] getDestinosSimbolos() { return destinosSimbolos; }
+
+  /**
+   * Verificar si la transición es de palabra vacía
+   * @param t Transición a examinar
+   * @return True si la expresión de la transición es _
+   */
+  private static boolean esPalabraVacia(Transicion t) {
+    return t.getExpresion().getNodo().caracterEn(0) == SimuladorAFN.PALABRA_VACIA;
+  }
+}
@@ -0,0 +1,113 @@
+package convertidor;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tecnológico Nacional de México Campus León
+ * Ingeniería en Sistemas Computacionales
+ * Lenguajes y Autómatas I
+ * Programa que convierte una Expresión Regular a su Autómata Finito No Determinista equivalente
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * Lunes 17 de abril 2023
+ */
+public class Main {
+  /**
+   * Método inicial del programa.
+   * Se lee la expresión regular del usuario, realiza la conversión e imprime los resultados.
+   * Con el argumento --sin-vacias también se imprime el AFN equivalente sin transiciones de palabra vacía.
+   * Con el argumento --glushkov también se imprime el autómata de posiciones, al buscar se usa en lugar del AFN.
+   * Con el argumento --lote se convierten muchas expresiones, una por línea.
+   * Con el argumento --buscar se imprimen las líneas de un archivo que contienen una coincidencia.
+   * Con el argumento --servidor se atienden peticiones de conversión y reconocimiento en un puerto local.
+   * Con el argumento --metricas, al buscar se miden los reconocedores y las métricas se imprimen al terminar.
+   * @see ModoLote
+   * @see BuscadorArchivo
+   * @see ServidorAutomatas
+   */
+  public static void main(String[] args) {
+    if (args.length > 0 && args[0].equals("--lote")) {
+      try {
+        ModoLote.ejecutar(Arrays.copyOfRange(args, 1, args.length));
+      } catch (IOException e) {
+        System.err.println(e);
+      }
+      return;
+    }
+
+    if (args.length > 0 && args[0].equals("--servidor")) {
+      try {
+        int puerto = args.length > 1 ? Integer.parseInt(args[1]) : ServidorAutomatas.PUERTO_PREDETERMINADO;
+        try (ServidorAutomatas servidor = new ServidorAutomatas(puerto)) {
+          System.err.println("Escuchando en el puerto " + servidor.getPuerto());
+          servidor.atender();
+        }
+      } catch (IllegalArgumentException | IOException e) {
+        System.err.println(e);
+      }
+      return;
+    }
+
+    if (args.length >= 3 && args[0].equals("--buscar")) {
+      try {
+        List<String> opciones = Arrays.asList(args);
+        boolean metricas = opciones.contains("--metricas");
+        if (metricas) {
+          Metricas.registrarMBean();
+          Metricas.global().setMedir(true);
+        }
+        AFN automata;
+        if (opciones.contains("--glushkov")) automata = ConstructorGlushkov.construir(args[1]);
+        else {
+          // Los pasos de la conversión no se imprimen para no mezclarlos con las líneas encontradas
+          Convertidor convertidor = new Convertidor(args[1], OyenteConversion.SILENCIOSO);
+          convertidor.convertir();
+          automata = convertidor.getAFN();
+        }
+        BufferedOutputStream salida = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16);
+        BuscadorArchivo buscador = new BuscadorArchivo(automata, salida, opciones.contains("--posiciones"));
+        int hilos = opciones.indexOf("--hilos");
+        if (hilos < 0) buscador.buscar(Path.of(args[2]));
+        else {
+          ForkJoinPool pool = new ForkJoinPool(Integer.parseInt(args[hilos + 1]));
+          try {
+            buscador.buscarEnParalelo(Path.of(args[2]), pool);
+          } finally {
+            pool.shutdown();
+          }
+        }
+        if (metricas) System.err.println(Metricas.global());
+      } catch (IllegalArgumentException | IndexOutOfBoundsException | IOException e) {
+        System.err.println(e);
+      }
+      return;
+    }
+
+    try {
+      Scanner teclado = new Scanner(System.in);
+      System.out.println("Convertidor de Expresiones Regulares a Autómatas Finitos No Determinitas");
+      System.out.print("Ingrese la expresión regular: ");
+      String entrada = teclado.nextLine();
+
+      Convertidor app = new Convertidor(entrada);
+      app.convertir();
+      app.imprimirAFN();
+
+      if (Arrays.asList(args).contains("--sin-vacias")) {
+        System.out.println("\nAFN sin palabras vacías: ");
+        System.out.println(app.getAFN().sinPalabrasVacias());
+      }
+
+      if (Arrays.asList(args).contains("--glushkov")) {
+        System.out.println("\nAFN de Glushkov: ");
+        System.out.println(ConstructorGlushkov.construir(entrada));
+      }
+    } catch(IllegalArgumentException e) {
+      System.err.println(e);
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,497 @@
+package convertidor;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase que acumula las métricas de las conversiones y de los reconocedores de todo el proceso.
+ * Cada conversión suma al terminar el tiempo de análisis de la expresión, el de cada tipo de descomposición
+ * (uniones, concatenaciones y cerraduras de Kleene) y el de presentación (pasos y quíntuplo), y el número de
+ * estados, transiciones y pasos. Cada reconocedor suma su latencia en un histograma, los caracteres o bytes
+ * que recorrió y los estados que visitó. Solo se mide si la medición está activa, porque leer el reloj en cada
+ * paso o en cada palabra corta cuesta tanto como el trabajo medido; sin ella convertir y reconocer no leen el
+ * reloj ni tocan los contadores. Se activa con setMedir(true) o con la propiedad del sistema
+ * -Dconvertidor.metricas=true.
+ * <p>
+ * Los contadores son LongAdder, así que registrar no bloquea aunque muchos hilos conviertan o busquen a la vez.
+ * Además se guardan las MAS_LENTAS conversiones que más tardaron, con su expresión, para encontrar los patrones
+ * problemáticos; solo se toma el candado cuando una conversión tarda más que la más rápida de ellas.
+ * Las métricas se consultan con instantanea() o por JMX después de llamar a registrarMBean().
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see MetricasMXBean
+ */
+public class Metricas implements MetricasMXBean {
+  /** Nombre con el que se registra en JMX */
+  public static final String NOMBRE_JMX = "convertidor:type=Metricas";
+  /** Número de conversiones más lentas que se guardan */
+  public static final int MAS_LENTAS = 10;
+  /** Caracteres de la expresión que se guardan en cada conversión, las más largas se recortan */
+  static final int LONGITUD_EXPRESION = 200;
+
+  /** Métricas de todo el proceso */
+  private static final Metricas GLOBAL = new Metricas();
+  /** Si se miden las conversiones y los reconocedores, se consulta en cada conversión y en cada palabra */
+  private static volatile boolean medir = Boolean.getBoolean("convertidor.metricas");
+
+  /** Para identificar los reconocedores que registran métricas */
+  public enum TiposReconocedor {
+    SIMULADOR_AFN, SIMULADOR_BITS, AFD_PEREZOSO, AFD_MINIMO, AUTOMATA_MAPEADO, CONJUNTO_PATRONES, BUSCADOR_ARCHIVO,
+    FLUJO
+  }
+
+  /** Conversiones terminadas */
+  private final LongAdder conversiones = new LongAdder();
+  /** Tiempo de validar y analizar las expresiones */
+  private final LongAdder nanosAnalisis = new LongAdder();
+  /** Tiempo de separar uniones */
+  private final LongAdder nanosUniones = new LongAdder();
+  /** Tiempo de separar concatenaciones */
+  private final LongAdder nanosConcatenaciones = new LongAdder();
+  /** Tiempo de separar cerraduras de Kleene */
+  private final LongAdder nanosCerraduras = new LongAdder();
+  /** Tiempo de mostrar los pasos y escribir los quíntuplos */
+  private final LongAdder nanosPresentacion = new LongAdder();
+  /** Estados de los AFN convertidos */
+  private final LongAdder estados = new LongAdder();
+  /** Transiciones de los AFN convertidos, incluyendo las de expresiones no minimas */
+  private final LongAdder transiciones = new LongAdder();
+  /** Pasos de las conversiones */
+  private final LongAdder pasos = new LongAdder();
+  /** Métricas de cada tipo de reconocedor, en el orden de TiposReconocedor */
+  private final MetricasReconocedor[] reconocedores;
+  /** Conversiones más lentas, la más rápida de ellas en la cabeza; solo se usa con su candado */
+  private final PriorityQueue<InstantaneaConversion> masLentas =
+          new PriorityQueue<>(Comparator.comparingLong(InstantaneaConversion::getNanosTotal));
+  /** Tiempo que debe superar una conversión para entrar en masLentas, 0 mientras no esté llena */
+  private volatile long umbralLentas;
+
+  /** Instanciar las métricas en cero, fuera de las pruebas solo se usan las globales */
+  Metricas() {
+    TiposReconocedor[] tipos = TiposReconocedor.values();
+    this.reconocedores = new MetricasReconocedor[tipos.length];
+    for (int i = 0; i < tipos.length; i++) reconocedores[i] = new MetricasReconocedor();
+  }
+
+  /**
+   * Obtener las métricas de todo el proceso
+   * @return Las métricas globales
+   */
+  public static Metricas global() { return GLOBAL; }
+
+  /**
+   * Registrar las métricas globales en el servidor de MBeans de la plataforma, si aún no están registradas
+   * @throws IllegalStateException Si JMX no permite registrarlas
+   */
+  public static synchronized void registrarMBean() {
+    try {
+      MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+      ObjectName nombre = new ObjectName(NOMBRE_JMX);
+      if (!servidor.isRegistered(nombre)) servidor.registerMBean(GLOBAL, nombre);
+    } catch (JMException e) {
+      throw new IllegalStateException("No se pudieron registrar las métricas en JMX", e);
+    }
+  }
+
+  /**
+   * Verificar si se debe medir, se consulta al empezar cada conversión y cada palabra
+   * @return True si se registran los tiempos de las conversiones y las latencias de los reconocedores
+   */
+  static boolean medir() { return medir; }
+
+  /**
+   * Registrar una conversión terminada
+   * @param conversion Métricas de la conversión
+   * @see Convertidor#getMetricas()
+   */
+  void registrarConversion(InstantaneaConversion conversion) {
+    conversiones.increment();
+    nanosAnalisis.add(conversion.getNanosAnalisis());
+    nanosUniones.add(conversion.getNanosUniones());
+    nanosConcatenaciones.add(conversion.getNanosConcatenaciones());
+    nanosCerraduras.add(conversion.getNanosCerraduras());
+    nanosPresentacion.add(conversion.getNanosPresentacion());
+    estados.add(conversion.getEstados());
+    transiciones.add(conversion.getTransiciones());
+    pasos.add(conversion.getPasos());
+    if (conversion.getNanosTotal() > umbralLentas) agregarLenta(conversion);
+  }
+
+  /**
+   * Guardar una conversión entre las más lentas, sacando la más rápida si ya hay MAS_LENTAS
+   * @param conversion Métricas de la conversión
+   */
+  private void agregarLenta(InstantaneaConversion conversion) {
+    synchronized (masLentas) {
+      masLentas.add(conversion);
+      if (masLentas.size() > MAS_LENTAS) masLentas.poll();
+      if (masLentas.size() == MAS_LENTAS) umbralLentas = masLentas.peek().getNanosTotal();
+    }
+  }
+
+  /**
+   * Obtener las conversiones más lentas desde el inicio o el último reinicio
+   * @return Hasta MAS_LENTAS conversiones, de la más lenta a la más rápida
+   */
+  public List<InstantaneaConversion> conversionesMasLentas() {
+    List<InstantaneaConversion> lentas;
+    synchronized (masLentas) {
+      lentas = new ArrayList<>(masLentas);
+    }
+    lentas.sort(Comparator.comparingLong(InstantaneaConversion::getNanosTotal).reversed());
+    return List.copyOf(lentas);
+  }
+
+  /**
+   * Registrar el tiempo de escribir un quíntuplo
+   * @param nanosegundos Tiempo de escritura
+   */
+  void registrarPresentacion(long nanosegundos) { nanosPresentacion.add(nanosegundos); }
+
+  /**
+   * Registrar una palabra o texto reconocido
+   * @param tipo Reconocedor que lo recorrió
+   * @param inicio Valor de System.nanoTime() al empezar
+   * @param caracteres Caracteres o bytes recorridos
+   * @param estadosVisitados Estados activos sumados en cada caracter
+   */
+  void registrarReconocimiento(TiposReconocedor tipo, long inicio, long caracteres, long estadosVisitados) {
+    reconocedores[tipo.ordinal()].registrar(System.nanoTime() - inicio, caracteres, estadosVisitados);
+  }
+
+  /**
+   * Obtener todas las métricas en un solo momento.
+   * Los contadores se leen uno por uno, si hay conversiones en curso puede haber pequeñas diferencias entre ellos.
+   * @return Copia inmutable de las métricas
+   */
+  public Instantanea instantanea() {
+    List<InstantaneaReconocedor> porReconocedor = new ArrayList<>();
+    for (TiposReconocedor tipo : TiposReconocedor.values())
+      porReconocedor.add(reconocedores[tipo.ordinal()].instantanea(tipo.name()));
+    return new Instantanea(
+            conversiones.sum(), nanosAnalisis.sum(), nanosUniones.sum(), nanosConcatenaciones.sum(),
+            nanosCerraduras.sum(), nanosPresentacion.sum(), estados.sum(), transiciones.sum(), pasos.sum(),
+            porReconocedor, conversionesMasLentas()
+    );
+  }
+
+  @Override
+  public Instantanea getInstantanea() { return instantanea(); }
+
+  @Override
+  public List<InstantaneaConversion> getConversionesMasLentas() { return conversionesMasLentas(); }
+
+  @Override
+  public long getConversiones() { return conversiones.sum(); }
+
+  @Override
+  public boolean isMedir() { return medir; }
+
+  @Override
+  public void setMedir(boolean medir) { Metricas.medir = medir; }
+
+  @Override
+  public void reiniciar() {
+    for (LongAdder contador : new LongAdder[]{
+            conversiones, nanosAnalisis, nanosUniones, nanosConcatenaciones, nanosCerraduras,
+            nanosPresentacion, estados, transiciones, pasos
+    })
+      contador.reset();
+    for (MetricasReconocedor reconocedor : reconocedores) reconocedor.reiniciar();
+    synchronized (masLentas) {
+      masLentas.clear();
+      umbralLentas = 0;
+    }
+  }
+
+  /**
+   * Obtener las métricas como texto, una por línea
+   * @return Las métricas
+   */
+  @Override
+  public String toString() { return instantanea().toString(); }
+
+  /** Contadores de un tipo de reconocedor */
+  private static class MetricasReconocedor {
+    /** Palabras o textos reconocidos */
+    private final LongAdder llamadas = new LongAdder();
+    /** Caracteres o bytes recorridos */
+    private final LongAdder caracteres = new LongAdder();
+    /** Estados visitados */
+    private final LongAdder estadosVisitados = new LongAdder();
+    /** Tiempo total */
+    private final LongAdder nanos = new LongAdder();
+    /** Latencia de cada llamada */
+    private final Histograma latencias = new Histograma();
+
+    /**
+     * Registrar una llamada
+     * @param nanosegundos Latencia
+     * @param caracteres Caracteres o bytes recorridos
+     * @param estados Estados visitados
+     */
+    void registrar(long nanosegundos, long caracteres, long estados) {
+      llamadas.increment();
+      this.caracteres.add(caracteres);
+      estadosVisitados.add(estados);
+      nanos.add(nanosegundos);
+      latencias.registrar(nanosegundos);
+    }
+
+    /** Volver a empezar desde cero */
+    void reiniciar() {
+      llamadas.reset();
+      caracteres.reset();
+      estadosVisitados.reset();
+      nanos.reset();
+      latencias.reiniciar();
+    }
+
+    /**
+     * Copiar los contadores
+     * @param nombre Nombre del tipo de reconocedor
+     * @return Copia inmutable
+     */
+    InstantaneaReconocedor instantanea(String nombre) {
+      return new InstantaneaReconocedor(
+              nombre, llamadas.sum(), caracteres.sum(), estadosVisitados.sum(), nanos.sum(), latencias.getCuentas()
+      );
+    }
+  }
+
+  /** Copia inmutable de las métricas de conversión y de los reconocedores */
+  public static class Instantanea {
+    private final long conversiones;
+    private final long nanosAnalisis;
+    private final long nanosUniones;
+    private final long nanosConcatenaciones;
+    private final long nanosCerraduras;
+    private final long nanosPresentacion;
+    private final long estados;
+    private final long transiciones;
+    private final long pasos;
+    private final List<InstantaneaReconocedor> reconocedores;
+    private final List<InstantaneaConversion> masLentas;
+
+    /**
+     * Instanciar una copia de las métricas
+     * @param conversiones Conversiones terminadas
+     * @param nanosAnalisis Tiempo de análisis
+     * @param nanosUniones Tiempo de separar uniones
+     * @param nanosConcatenaciones Tiempo de separar concatenaciones
+     * @param nanosCerraduras Tiempo de separar cerraduras de Kleene
+     * @param nanosPresentacion Tiempo de presentación
+     * @param estados Estados creados
+     * @param transiciones Transiciones creadas
+     * @param pasos Pasos de las conversiones
+     * @param reconocedores Métricas de cada tipo de reconocedor
+     * @param masLentas Conversiones más lentas, de la más lenta a la más rápida
+     */
+    Instantanea(
+            long conversiones, long nanosAnalisis, long nanosUniones, long nanosConcatenaciones,
+            long nanosCerraduras, long nanosPresentacion, long estados, long transiciones, long pasos,
+            List<InstantaneaReconocedor> reconocedores, List<InstantaneaConversion> masLentas
+    ) {
+      this.conversiones = conversiones;
+      this.nanosAnalisis = nanosAnalisis;
+      this.nanosUniones = nanosUniones;
+      this.nanosConcatenaciones = nanosConcatenaciones;
+      this.nanosCerraduras = nanosCerraduras;
+      this.nanosPresentacion = nanosPresentacion;
+      this.estados = estados;
+      this.transiciones = transiciones;
+      this.pasos = pasos;
+      this.reconocedores = List.copyOf(reconocedores);
+      this.masLentas = List.copyOf(masLentas);
+    }
+
+    /** @return Conversiones terminadas */
+    public long getConversiones() { return conversiones; }
+    /** @return Tiempo de validar y analizar las expresiones en nanosegundos */
+    public long getNanosAnalisis() { return nanosAnalisis; }
+    /** @return Tiempo de separar uniones en nanosegundos */
+    public long getNanosUniones() { return nanosUniones; }
+    /** @return Tiempo de separar concatenaciones en nanosegundos */
+    public long getNanosConcatenaciones() { return nanosConcatenaciones; }
+    /** @return Tiempo de separar cerraduras de Kleene en nanosegundos */
+    public long getNanosCerraduras() { return nanosCerraduras; }
+    /** @return Tiempo de mostrar los pasos y escribir los quíntuplos en nanosegundos */
+    public long getNanosPresentacion() { return nanosPresentacion; }
+    /** @return Estados de los AFN convertidos */
+    public long getEstados() { return estados; }
+    /** @return Transiciones de los AFN convertidos */
+    public long getTransiciones() { return transiciones; }
+    /** @return Pasos de las conversiones */
+    public long getPasos() { return pasos; }
+    /** @return Métricas de cada tipo de reconocedor */
+    public List<InstantaneaReconocedor> getReconocedores() { return reconocedores; }
+    /** @return Conversiones más lentas, de la más lenta a la más rápida */
+    public List<InstantaneaConversion> getMasLentas() { return masLentas; }
+
+    /**
+     * Obtener las métricas como texto, una por línea, sin los reconocedores que no se han usado.
+     * Al final van las conversiones más lentas
+     * @return Las métricas
+     */
+    @Override
+    public String toString() {
+      StringBuilder texto = new StringBuilder()
+              .append("conversiones=").append(conversiones)
+              .append(" analisis=").append(nanosAnalisis / 1000).append("us")
+              .append(" uniones=").append(nanosUniones / 1000).append("us")
+              .append(" concatenaciones=").append(nanosConcatenaciones / 1000).append("us")
+              .append(" cerraduras=").append(nanosCerraduras / 1000).append("us")
+              .append(" presentacion=").append(nanosPresentacion / 1000).append("us")
+              .append(" estados=").append(estados)
+              .append(" transiciones=").append(transiciones)
+              .append(" pasos=").append(pasos);
+      for (InstantaneaReconocedor reconocedor : reconocedores)
+        if (reconocedor.getLlamadas() > 0) texto.append('\n').append(reconocedor);
+      for (InstantaneaConversion lenta : masLentas) texto.append("\nlenta: ").append(lenta);
+      return texto.toString();
+    }
+  }
+
+  /**
+   * Copia inmutable de las métricas de una sola conversión, para saber qué expresión tardó o creció más.
+   * Las expresiones de más de LONGITUD_EXPRESION caracteres se guardan recortadas, con su longitud completa.
+   */
+  public static class InstantaneaConversion {
+    private final String expresion;
+    private final int longitud;
+    private final long nanosAnalisis;
+    private final long nanosUniones;
+    private final long nanosConcatenaciones;
+    private final long nanosCerraduras;
+    private final long nanosPresentacion;
+    private final int estados;
+    private final int transiciones;
+    private final int pasos;
+
+    /**
+     * Instanciar una copia de las métricas de una conversión
+     * @param expresion Expresión regular convertida, se recorta si es muy larga
+     * @param nanosAnalisis Tiempo de validar y analizar la expresión
+     * @param nanosPasos Tiempo de cada tipo de paso, en el orden de PasoConversion.TiposPaso
+     * @param nanosPresentacion Tiempo de avisar los pasos al oyente
+     * @param estados Estados del AFN
+     * @param transiciones Transiciones del AFN
+     * @param pasos Pasos de la conversión
+     */
+    InstantaneaConversion(
+            String expresion, long nanosAnalisis, long[] nanosPasos, long nanosPresentacion,
+            int estados, int transiciones, int pasos
+    ) {
+      this.expresion = expresion.length() > LONGITUD_EXPRESION ? expresion.substring(0, LONGITUD_EXPRESION) : expresion;
+      this.longitud = expresion.length();
+      this.nanosAnalisis = nanosAnalisis;
+      this.nanosUniones = nanosPasos[PasoConversion.TiposPaso.UNION.ordinal()];
+      this.nanosConcatenaciones = nanosPasos[PasoConversion.TiposPaso.CONCATENACION.ordinal()];
+      this.nanosCerraduras = nanosPasos[PasoConversion.TiposPaso.CERRADURA_KLEENE.ordinal()];
+      this.nanosPresentacion = nanosPresentacion;
+      this.estados = estados;
+      this.transiciones = transiciones;
+      this.pasos = pasos;
+    }
+
+    /** @return Expresión regular convertida, sus primeros LONGITUD_EXPRESION caracteres si es más larga */
+    public String getExpresion() { return expresion; }
+    /** @return Longitud de la expresión completa */
+    public int getLongitud() { return longitud; }
+    /** @return Tiempo de validar y analizar la expresión en nanosegundos */
+    public long getNanosAnalisis() { return nanosAnalisis; }
+    /** @return Tiempo de separar uniones en nanosegundos */
+    public long getNanosUniones() { return nanosUniones; }
+    /** @return Tiempo de separar concatenaciones en nanosegundos */
+    public long getNanosConcatenaciones() { return nanosConcatenaciones; }
+    /** @return Tiempo de separar cerraduras de Kleene en nanosegundos */
+    public long getNanosCerraduras() { return nanosCerraduras; }
+    /** @return Tiempo de avisar los pasos en nanosegundos */
+    public long getNanosPresentacion() { return nanosPresentacion; }
+    /** @return Tiempo total de la conversión en nanosegundos, con el análisis y la presentación */
+    public long getNanosTotal() {
+      return nanosAnalisis + nanosUniones + nanosConcatenaciones + nanosCerraduras + nanosPresentacion;
+    }
+    /** @return Estados del AFN */
+    public int getEstados() { return estados; }
+    /** @return Transiciones del AFN, incluyendo las de expresiones no minimas */
+    public int getTransiciones() { return transiciones; }
+    /** @return Pasos de la conversión */
+    public int getPasos() { return pasos; }
+
+    /**
+     * Obtener las métricas como texto
+     * @return Las métricas en una línea
+     */
+    @Override
+    public String toString() {
+      return "total=" + getNanosTotal() / 1000 + "us estados=" + estados + " transiciones=" + transiciones
+              + " pasos=" + pasos + " longitud=" + longitud + " expresion=" + expresion
+              + (longitud > expresion.length() ? "..." : "");
+    }
+  }
+
+  /** Copia inmutable de las métricas de un tipo de reconocedor */
+  public static class InstantaneaReconocedor {
+    private final String nombre;
+    private final long llamadas;
+    private final long caracteres;
+    private final long estadosVisitados;
+    private final long nanos;
+    private final long[] histograma;
+
+    /**
+     * Instanciar una copia de las métricas de un reconocedor
+     * @param nombre Nombre del tipo de reconocedor
+     * @param llamadas Palabras o textos reconocidos
+     * @param caracteres Caracteres o bytes recorridos
+     * @param estadosVisitados Estados visitados
+     * @param nanos Tiempo total
+     * @param histograma Cuentas de cada cubeta del histograma de latencias
+     */
+    InstantaneaReconocedor(
+            String nombre, long llamadas, long caracteres, long estadosVisitados, long nanos, long[] histograma
+    ) {
+      this.nombre = nombre;
+      this.llamadas = llamadas;
+      this.caracteres = caracteres;
+      this.estadosVisitados = estadosVisitados;
+      this.nanos = nanos;
+      this.histograma = histograma;
+    }
+
+    /** @return Nombre del tipo de reconocedor */
+    public String getNombre() { return nombre; }
+    /** @return Palabras o textos reconocidos */
+    public long getLlamadas() { return llamadas; }
+    /** @return Caracteres o bytes recorridos */
+    public long getCaracteres() { return caracteres; }
+    /** @return Estados visitados, sumando los activos en cada caracter */
+    public long getEstadosVisitados() { return estadosVisitados; }
+    /** @return Tiempo total en nanosegundos */
+    public long getNanos() { return nanos; }
+    /** @return Cuentas de cada cubeta, la cubeta i tiene las latencias de 2^i a 2^(i+1) - 1 ns */
+    public long[] getHistograma() { return histograma.clone(); }
+    /** @return Percentil 50 de la latencia en nanosegundos, aproximado */
+    public long getPercentil50() { return Histograma.percentil(histograma, 50); }
+    /** @return Percentil 99 de la latencia en nanosegundos, aproximado */
+    public long getPercentil99() { return Histograma.percentil(histograma, 99); }
+
+    /**
+     * Obtener las métricas como texto
+     * @return Las métricas en una línea
+     */
+    @Override
+    public String toString() {
+      return nombre + ": llamadas=" + llamadas + " caracteres=" + caracteres
+              + " estadosVisitados=" + estadosVisitados + " total=" + nanos / 1000 + "us"
+              + " p50<=" + getPercentil50() + "ns p99<=" + getPercentil99() + "ns";
+    }
+  }
+}
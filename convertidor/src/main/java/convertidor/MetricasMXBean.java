@@ -0,0 +1,44 @@
+package convertidor;
+
+import java.util.List;
+
+/**
+ * Interfaz de las métricas que se exponen por JMX, con el nombre convertidor:type=Metricas.
+ * Los tiempos están en nanosegundos y todos los valores se acumulan desde el inicio o el último reinicio.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see Metricas
+ */
+public interface MetricasMXBean {
+  /**
+   * Obtener todas las métricas en un solo momento
+   * @return Las métricas de conversión y de cada tipo de reconocedor
+   */
+  Metricas.Instantanea getInstantanea();
+
+  /**
+   * Obtener las conversiones que más tardaron, con su expresión, para encontrar los patrones problemáticos
+   * @return Hasta Metricas.MAS_LENTAS conversiones, de la más lenta a la más rápida
+   */
+  List<Metricas.InstantaneaConversion> getConversionesMasLentas();
+
+  /**
+   * Obtener el número de conversiones terminadas
+   * @return Número de conversiones
+   */
+  long getConversiones();
+
+  /**
+   * Verificar si se mide, medir agrega dos lecturas del reloj por palabra y por paso de la conversión
+   * @return True si se registran las conversiones y las latencias de los reconocedores
+   */
+  boolean isMedir();
+
+  /**
+   * Activar o desactivar la medición de las conversiones y los reconocedores
+   * @param medir True para registrar las conversiones y las latencias de los reconocedores
+   */
+  void setMedir(boolean medir);
+
+  /** Volver a empezar todas las métricas desde cero */
+  void reiniciar();
+}
@@ -0,0 +1,109 @@
+package convertidor;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modo de consola que convierte muchas expresiones regulares en una sola ejecución.
+ * Lee una expresión por línea de un archivo o de la entrada estándar, las convierte una tras otra
+ * y escribe cada AFN en la salida estándar a través de un buffer, sin volver a iniciar la JVM por cada expresión.
+ * Las líneas inválidas se reportan con su número en la salida de errores y no detienen la ejecución.
+ * Al terminar se reporta el rendimiento total y por expresión. Los AFN también se pueden guardar en un archivo
+ * binario para cargarlos después sin volver a convertirlos.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see Main
+ */
+public class ModoLote {
+  /** Tamaño del buffer de la salida en bytes */
+  private static final int TAMANO_BUFFER = 1 << 16;
+
+  /**
+   * Ejecutar el modo por lotes.
+   * Argumentos: [archivo] [--solo-afn] [--json] [--glushkov] [--binario salida] [--metricas], sin archivo se lee
+   * la entrada estándar. Con --solo-afn no se imprimen los pasos de la conversión, con --json se imprimen como JSON,
+   * uno por línea. Con --glushkov se construye el autómata de posiciones, que no tiene pasos que imprimir.
+   * Con --binario los AFN se guardan además en el archivo de salida, en el orden de las líneas válidas.
+   * Con --metricas las métricas se registran en JMX mientras dura el lote y se imprimen al terminar.
+   * @param args Argumentos después de --lote
+   * @throws IOException Si no se puede leer el archivo de entrada o escribir el binario
+   */
+  public static void ejecutar(String[] args) throws IOException {
+    String archivo = null, binario = null;
+    boolean soloAFN = false, json = false, glushkov = false, metricas = false;
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].equals("--solo-afn")) soloAFN = true;
+      else if (args[i].equals("--json")) json = true;
+      else if (args[i].equals("--glushkov")) glushkov = true;
+      else if (args[i].equals("--metricas")) metricas = true;
+      else if (args[i].equals("--binario") && i + 1 < args.length) binario = args[++i];
+      else archivo = args[i];
+    }
+    List<AFN> automatas = binario == null ? null : new ArrayList<>();
+    if (metricas) {
+      Metricas.registrarMBean();
+      Metricas.global().setMedir(true);
+    }
+
+    BufferedReader entrada = archivo == null
+            ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+            : Files.newBufferedReader(Path.of(archivo), StandardCharsets.UTF_8);
+    PrintStream salida = new PrintStream(
+            new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), TAMANO_BUFFER),
+            false,
+            StandardCharsets.UTF_8
+    );
+    OyenteConversion pasos = soloAFN
+            ? OyenteConversion.SILENCIOSO
+            : json ? new OyenteJSON(salida) : new OyenteTexto(salida);
+
+    int numeroLinea = 0, convertidas = 0, invalidas = 0;
+    long inicio = System.nanoTime();
+    try (entrada; salida) {
+      String linea;
+      while ((linea = entrada.readLine()) != null) {
+        numeroLinea++;
+        if (linea.isBlank()) continue;
+
+        try {
+          AFN automata;
+          if (glushkov) {
+            automata = ConstructorGlushkov.construir(linea);
+            salida.println("# Línea " + numeroLinea + ": " + linea);
+          } else {
+            Convertidor convertidor = new Convertidor(linea, pasos);
+            salida.println("# Línea " + numeroLinea + ": " + linea);
+            convertidor.convertir();
+            automata = convertidor.getAFN();
+          }
+          EscritorAFN.escribirTexto(automata, salida);
+          if (automatas != null) automatas.add(automata);
+          salida.println();
+          salida.println();
+          convertidas++;
+        } catch (IllegalArgumentException e) {
+          invalidas++;
+          System.err.println("Línea " + numeroLinea + ": " + e.getMessage().strip());
+        }
+      }
+    }
+
+    if (automatas != null) ArchivoAutomatas.guardar(automatas, Path.of(binario));
+
+    long nanosegundos = System.nanoTime() - inicio;
+    int total = convertidas + invalidas;
+    System.err.printf(
+            "%nExpresiones convertidas: %d, inválidas: %d, en %.3f s%n",
+            convertidas, invalidas, nanosegundos / 1e9
+    );
+    if (total > 0)
+      System.err.printf(
+              "Rendimiento: %.1f expresiones/s, %.1f µs por expresión%n",
+              total / (nanosegundos / 1e9), nanosegundos / 1e3 / total
+      );
+    if (metricas) System.err.println(Metricas.global());
+  }
+}
@@ -1,3 +1,5 @@
+package convertidor;
+
 /**
  * Clase que representa un nodo de la Pila
  * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
@@ -0,0 +1,119 @@
+package convertidor;
+
+/**
+ * Clase para representar un nodo del árbol sintáctico de una expresión regular.
+ * Es inmutable: guarda el tipo de la subexpresión, su posición dentro de la expresión original y sus hijos,
+ * de modo que la conversión solo recorre nodos y nunca vuelve a separar Strings.
+ * Las subexpresiones repetidas comparten el mismo nodo, que puede ser hijo de varios nodos; su posición es la de
+ * la primera vez que aparece, por eso solo se debe usar su texto y no su posición.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see AnalizadorSintactico
+ */
+public class NodoExpresion {
+  /** Expresión regular completa de donde proviene el nodo */
+  private final String fuente;
+  /** Posición del primer caracter de la subexpresión (inclusivo) */
+  private final int inicio;
+  /** Posición después del último caracter de la subexpresión (exclusivo) */
+  private final int fin;
+  /** Tipo de subexpresión que representa el nodo */
+  private final TiposExpresion tipo;
+  /** Subexpresiones que componen al nodo */
+  private final NodoExpresion[] hijos;
+  /** Para asignar e identificar el tipo de subexpresión */
+  enum TiposExpresion {
+    /** Expresión sin caracteres */
+    VACIA,
+    /** Un solo simbolo del alfabeto o la palabra vacía */
+    SIMBOLO,
+    /** Subexpresiones separadas por +, , o | */
+    UNION,
+    /** Subexpresiones una seguida de otra */
+    CONCATENACION,
+    /** Subexpresión seguida de * */
+    CERRADURA_KLEENE,
+    /** Agrupación innecesaria que ya no se le quitaron los () o [], ejemplo: ((a+b)) */
+    AGRUPACION,
+    /** Expresión con () o [] no balanceados, no se puede analizar */
+    INVALIDA
+  }
+
+  /** Para los nodos que no tienen hijos */
+  private static final NodoExpresion[] SIN_HIJOS = new NodoExpresion[0];
+
+  /**
+   * Instanciar un nodo del árbol sintáctico
+   * @param fuente Expresión regular completa
+   * @param inicio Posición del primer caracter de la subexpresión
+   * @param fin Posición después del último caracter de la subexpresión
+   * @param tipo Tipo de subexpresión
+   * @param hijos Subexpresiones que componen al nodo, null si no tiene
+   */
+  public NodoExpresion(String fuente, int inicio, int fin, TiposExpresion tipo, NodoExpresion[] hijos) {
+    this.fuente = fuente;
+    this.inicio = inicio;
+    this.fin = fin;
+    this.tipo = tipo;
+    this.hijos = hijos == null ? SIN_HIJOS : hijos;
+  }
+
+  /**
+   * Obtener el tipo de subexpresión
+   * @return El tipo del nodo
+   */
+  public TiposExpresion getTipo() { return this.tipo; }
+
+  /**
+   * Obtener el número de subexpresiones del nodo
+   * @return Número de hijos
+   */
+  public int getNumeroHijos() { return this.hijos.length; }
+
+  /**
+   * Obtener una de las subexpresiones del nodo
+   * @param i Indice del hijo, en el orden en que aparece en la expresión
+   * @return El nodo hijo
+   */
+  public NodoExpresion getHijo(int i) { return this.hijos[i]; }
+
+  /**
+   * Obtener el número de caracteres de la subexpresión
+   * @return Longitud de la subexpresión
+   */
+  public int longitud() { return this.fin - this.inicio; }
+
+  /**
+   * Obtener el caracter en una posición de la subexpresión
+   * @param i Posición relativa al inicio de la subexpresión
+   * @return El caracter
+   */
+  public char caracterEn(int i) { return this.fuente.charAt(this.inicio + i); }
+
+  /**
+   * Comparar lexicográficamente el texto de dos subexpresiones sin crear Strings
+   * @param o Nodo con el que se compara
+   * @return Negativo, cero o positivo igual que String#compareTo
+   */
+  public int compararTexto(NodoExpresion o) {
+    int n = Math.min(this.longitud(), o.longitud());
+    for (int i = 0; i < n; i++) {
+      int diferencia = this.caracterEn(i) - o.caracterEn(i);
+      if (diferencia != 0) return diferencia;
+    }
+    return this.longitud() - o.longitud();
+  }
+
+  /**
+   * Obtener el texto de la subexpresión.
+   * Solo se crea el String cuando se necesita mostrar.
+   * @return La subexpresión como String
+   */
+  public String getTexto() { return this.fuente.substring(this.inicio, this.fin); }
+
+  /**
+   * Obtener la representación del nodo
+   * @return El texto de la subexpresión
+   */
+  @Override
+  public String toString() { return getTexto(); }
+}
@@ -0,0 +1,15 @@
+package convertidor;
+
+/**
+ * Interfaz para recibir las coincidencias que encuentra un ReconocedorFlujo mientras lee los trozos.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see ReconocedorFlujo
+ */
+@FunctionalInterface
+public interface OyenteCoincidencias {
+  /**
+   * Recibir una coincidencia, se llama en cuanto se lee su último caracter
+   * @param fin Posición en el flujo justo después del último caracter de la coincidencia, contando desde 0
+   */
+  void coincidencia(long fin);
+}
@@ -0,0 +1,36 @@
+package convertidor;
+
+/**
+ * Interfaz para recibir los pasos de la conversión de ER a AFN.
+ * El Convertidor pregunta una sola vez si el oyente está activo, si no lo está no crea los eventos
+ * ni las listas de transiciones, por lo que convertir en silencio no cuesta nada extra.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see Convertidor
+ * @see OyenteTexto
+ * @see OyenteJSON
+ */
+public interface OyenteConversion {
+  /** Oyente que no hace nada, para convertir sin mostrar los pasos */
+  OyenteConversion SILENCIOSO = new OyenteConversion() {
+    @Override
+    public boolean estaActivo() { return false; }
+
+    @Override
+    public void paso(PasoConversion paso) {}
+  };
+
+  /**
+   * Verificar si el oyente quiere recibir los pasos
+   * @return False para que el Convertidor no cree los eventos
+   */
+  default boolean estaActivo() { return true; }
+
+  /**
+   * Recibir un paso de la conversión, se llama después de crear las transiciones del paso
+   * @param paso Paso realizado
+   */
+  void paso(PasoConversion paso);
+
+  /** Se llama al terminar la conversión, para escribir lo que se tenga pendiente */
+  default void terminar() {}
+}
@@ -0,0 +1,84 @@
+package convertidor;
+
+import java.io.PrintStream;
+
+/**
+ * Oyente que escribe cada paso de la conversión como un objeto JSON en una línea (JSON Lines).
+ * Ejemplo: {"paso":2,"tipo":"UNION","expresion":"a+b","transiciones":[{"origen":"q0","expresion":"a","destino":"q1"}]}
+ * Igual que OyenteTexto, los pasos se acumulan en un buffer y se escriben al terminar o al llenarse.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ */
+public class OyenteJSON implements OyenteConversion {
+  /** Caracteres acumulados a partir de los que se escribe el buffer antes de terminar */
+  private static final int TAMANO_BUFFER = 1 << 16;
+
+  /** Donde se escriben los pasos */
+  private final PrintStream salida;
+  /** Pasos que aún no se escriben */
+  private final StringBuilder buffer;
+
+  /**
+   * Instanciar el oyente
+   * @param salida Donde se escriben los pasos
+   */
+  public OyenteJSON(PrintStream salida) {
+    this.salida = salida;
+    this.buffer = new StringBuilder();
+  }
+
+  @Override
+  public void paso(PasoConversion paso) {
+    buffer.append("{\"paso\":").append(paso.getNumero())
+          .append(",\"tipo\":\"").append(paso.getTipo()).append('"')
+          .append(",\"expresion\":");
+    agregarCadena(paso.getExpresion());
+    buffer.append(",\"transiciones\":[");
+    boolean primera = true;
+    for (Transicion t : paso.getTransiciones()) {
+      if (!primera) buffer.append(',');
+      primera = false;
+      buffer.append("{\"origen\":\"").append(t.getEstadoOrigen().getNombre())
+            .append("\",\"expresion\":");
+      agregarCadena(t.getExpresion().getExpresionRegular());
+      buffer.append(",\"destino\":\"").append(t.getEstadoDestino().getNombre()).append("\"}");
+    }
+    buffer.append("]}").append('\n');
+
+    if (buffer.length() >= TAMANO_BUFFER) vaciar();
+  }
+
+  @Override
+  public void terminar() {
+    vaciar();
+    salida.flush();
+  }
+
+  /**
+   * Agregar un String entre comillas, escapando los caracteres que JSON no permite
+   * @param texto Texto a agregar
+   */
+  private void agregarCadena(String texto) {
+    buffer.append('"');
+    for (int i = 0; i < texto.length(); i++) {
+      char c = texto.charAt(i);
+      switch (c) {
+        case '"' -> buffer.append("\\\"");
+        case '\\' -> buffer.append("\\\\");
+        case '\n' -> buffer.append("\\n");
+        case '\r' -> buffer.append("\\r");
+        case '\t' -> buffer.append("\\t");
+        default -> {
+          if (c < 0x20) buffer.append(String.format("\\u%04x", (int) c));
+          else buffer.append(c);
+        }
+      }
+    }
+    buffer.append('"');
+  }
+
+  /** Escribir en la salida los pasos acumulados */
+  private void vaciar() {
+    salida.append(buffer);
+    buffer.setLength(0);
+  }
+}
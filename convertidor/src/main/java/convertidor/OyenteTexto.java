@@ -0,0 +1,58 @@
+package convertidor;
+
+import java.io.PrintStream;
+
+/**
+ * Oyente que escribe los pasos de la conversión como texto, con el mismo formato de siempre.
+ * Los pasos se acumulan en un buffer y se escriben de una vez al terminar la conversión o al llenarse el buffer,
+ * en lugar de tomar el candado de la salida por cada línea.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ */
+public class OyenteTexto implements OyenteConversion {
+  /** Caracteres acumulados a partir de los que se escribe el buffer antes de terminar */
+  private static final int TAMANO_BUFFER = 1 << 16;
+  /** Salto de línea, el mismo '\n' en todos los sistemas como la salida original */
+  private static final char SALTO = '\n';
+
+  /** Donde se escriben los pasos */
+  private final PrintStream salida;
+  /** Pasos que aún no se escriben */
+  private final StringBuilder buffer;
+
+  /**
+   * Instanciar el oyente
+   * @param salida Donde se escriben los pasos
+   */
+  public OyenteTexto(PrintStream salida) {
+    this.salida = salida;
+    this.buffer = new StringBuilder();
+  }
+
+  @Override
+  public void paso(PasoConversion paso) {
+    buffer.append(SALTO).append("Paso ").append(paso.getNumero()).append(". ");
+    switch (paso.getTipo()) {
+      case INICIAL -> buffer.append("Agregar estado inicial y final");
+      case CONCATENACION -> buffer.append("Separar concatenacion en ").append(paso.getExpresion()).append(": ");
+      case UNION -> buffer.append("Separar uniones en ").append(paso.getExpresion()).append(": ");
+      case CERRADURA_KLEENE ->
+              buffer.append("Separar cerradura de Kleene en ").append(paso.getExpresion()).append(": ");
+    }
+    buffer.append(SALTO);
+    for (Transicion t : paso.getTransiciones()) buffer.append(t).append(SALTO);
+
+    if (buffer.length() >= TAMANO_BUFFER) vaciar();
+  }
+
+  @Override
+  public void terminar() {
+    vaciar();
+    salida.flush();
+  }
+
+  /** Escribir en la salida los pasos acumulados */
+  private void vaciar() {
+    salida.append(buffer);
+    buffer.setLength(0);
+  }
+}
@@ -0,0 +1,70 @@
+package convertidor;
+
+import java.util.List;
+
+/**
+ * Clase para representar un paso de la conversión de ER a AFN, el evento que recibe un OyenteConversion.
+ * Las expresiones de las transiciones pueden cambiar en pasos posteriores (la cerradura de Kleene le quita el *
+ * a su expresión), por lo que el oyente debe leerlas al recibir el paso y no guardarlas para después.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see OyenteConversion
+ */
+public class PasoConversion {
+  /** Número del paso, empezando en 1 */
+  private final int numero;
+  /** Transformación que se hizo en el paso */
+  private final TiposPaso tipo;
+  /** Expresión que se transformó, como estaba antes del paso */
+  private final String expresion;
+  /** Transiciones creadas en el paso, en el orden en que se crearon */
+  private final List<Transicion> transiciones;
+  /** Para asignar e identificar la transformación del paso */
+  public enum TiposPaso {
+    /** Transición del estado inicial al final con la expresión completa */
+    INICIAL,
+    /** Separación de una concatenación */
+    CONCATENACION,
+    /** Separación de una unión */
+    UNION,
+    /** Separación de una cerradura de Kleene */
+    CERRADURA_KLEENE
+  }
+
+  /**
+   * Instanciar un paso
+   * @param numero Número del paso
+   * @param tipo Transformación que se hizo
+   * @param expresion Expresión que se transformó
+   * @param transiciones Transiciones creadas
+   */
+  public PasoConversion(int numero, TiposPaso tipo, String expresion, List<Transicion> transiciones) {
+    this.numero = numero;
+    this.tipo = tipo;
+    this.expresion = expresion;
+    this.transiciones = transiciones;
+  }
+
+  /**
+   * Obtener el número del paso
+   * @return Número del paso, empezando en 1
+   */
+  public int getNumero() { return numero; }
+
+  /**
+   * Obtener la transformación del paso
+   * @return Tipo del paso
+   */
+  public TiposPaso getTipo() { return tipo; }
+
+  /**
+   * Obtener la expresión que se transformó
+   * @return Expresión como estaba antes del paso
+   */
+  public String getExpresion() { return expresion; }
+
+  /**
+   * Obtener las transiciones creadas en el paso
+   * @return Transiciones en el orden en que se crearon
+   */
+  public List<Transicion> getTransiciones() { return transiciones; }
+}
@@ -1,3 +1,5 @@
+package convertidor;
+
 /**
  * Clase para representar la estructura de datos Pila
  * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
@@ -6,7 +8,7 @@ public class Pila {
   /** Ultimo nodo insertado en la pila */
   private Nodo ultimo;
   /** Número de elementos de la pila */
-  private byte longitud;
+  private int longitud;
 
   /**
    * Instanciar una pila vacía
@@ -79,5 +81,5 @@ public class Pila {
    * Obtener el número de elementos de la pila
    * @return La longitud de la pila
    */
-  public byte getLongitud() { return longitud; }
+  public int getLongitud() { return longitud; }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package convertidor;
+
+/**
+ * Interfaz para los objetos que deciden si una palabra pertenece al lenguaje de un autómata.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see SimuladorAFN
+ */
+public interface Reconocedor {
+  /**
+   * Verificar si el autómata acepta la palabra completa
+   * @param palabra Palabra a reconocer
+   * @return True si al terminar de leer la palabra se llega a un estado final
+   */
+  boolean acepta(CharSequence palabra);
+}
@@ -0,0 +1,132 @@
+package convertidor;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Clase que busca coincidencias en un flujo que llega por trozos de cualquier tamaño, como un ByteBuffer leído
+ * de un socket o un CharBuffer de un Reader. Una coincidencia puede empezar en un trozo y terminar en otro.
+ * Entre trozos solo se guarda el estado actual de un AFD perezoso en modo de búsqueda (que representa el conjunto
+ * de estados activos del AFN) y la posición, nunca el texto, por lo que un flujo infinito se recorre con memoria
+ * constante: la tabla del AFD se vacía al llegar a su límite.
+ * <p>
+ * Cada posición donde termina una coincidencia se avisa al oyente en cuanto se lee, en orden. Si la expresión
+ * acepta la palabra vacía, también se avisa la posición 0 y cualquier posición es el fin de una coincidencia.
+ * Los bytes se leen como caracteres Latin-1, igual que en BuscadorArchivo, y las posiciones cuentan bytes o
+ * caracteres según lo que se le dé; no se deben mezclar los dos en el mismo flujo.
+ * No es seguro usar la misma instancia desde varios hilos.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see OyenteCoincidencias
+ * @see AFDPerezoso#paraBusqueda(AFN)
+ */
+public class ReconocedorFlujo {
+  /** AFD en modo de búsqueda, encuentra coincidencias que empiezan en cualquier posición */
+  private final AFDPerezoso afd;
+  /** Recibe las coincidencias */
+  private final OyenteCoincidencias oyente;
+  /** Estado del AFD después del último caracter leído */
+  private int estado;
+  /** Número de bytes o caracteres leídos desde el inicio del flujo */
+  private long posicion;
+  /** Si ya se revisó la coincidencia vacía de la posición 0 */
+  private boolean empezado;
+
+  /**
+   * Instanciar un reconocedor de flujos
+   * @param automata AFN ya convertido
+   * @param oyente Recibe las posiciones donde terminan las coincidencias
+   */
+  public ReconocedorFlujo(AFN automata, OyenteCoincidencias oyente) {
+    this.afd = AFDPerezoso.paraBusqueda(automata);
+    this.oyente = oyente;
+    this.estado = afd.estadoInicial();
+  }
+
+  /**
+   * Leer un trozo de bytes, desde su posición hasta su límite.
+   * Al terminar la posición del buffer queda en su límite, como si se hubiera leído con get().
+   * @param trozo Siguientes bytes del flujo
+   * @return Número de coincidencias que terminaron en el trozo
+   */
+  public long alimentar(ByteBuffer trozo) {
+    boolean medir = Metricas.medir();
+    long inicio = medir ? System.nanoTime() : 0;
+    long coincidencias = empezar();
+    int e = estado;
+    // Posición en el flujo del byte 0 del buffer
+    long base = posicion - trozo.position();
+    for (int i = trozo.position(); i < trozo.limit(); i++) {
+      e = afd.avanzar(e, (char) (trozo.get(i) & 0xFF));
+      if (afd.esFinal(e)) {
+        coincidencias++;
+        oyente.coincidencia(base + i + 1);
+      }
+    }
+    terminar(e, trozo.remaining(), medir, inicio);
+    trozo.position(trozo.limit());
+    return coincidencias;
+  }
+
+  /**
+   * Leer un trozo de caracteres, desde su posición hasta su límite.
+   * Al terminar la posición del buffer queda en su límite, como si se hubiera leído con get().
+   * @param trozo Siguientes caracteres del flujo
+   * @return Número de coincidencias que terminaron en el trozo
+   */
+  public long alimentar(CharBuffer trozo) {
+    boolean medir = Metricas.medir();
+    long inicio = medir ? System.nanoTime() : 0;
+    long coincidencias = empezar();
+    int e = estado;
+    long base = posicion - trozo.position();
+    for (int i = trozo.position(); i < trozo.limit(); i++) {
+      e = afd.avanzar(e, trozo.get(i));
+      if (afd.esFinal(e)) {
+        coincidencias++;
+        oyente.coincidencia(base + i + 1);
+      }
+    }
+    terminar(e, trozo.remaining(), medir, inicio);
+    trozo.position(trozo.limit());
+    return coincidencias;
+  }
+
+  /**
+   * Avisar la coincidencia vacía de la posición 0 la primera vez que se lee un trozo
+   * @return 1 si se avisó, 0 si no
+   */
+  private long empezar() {
+    if (empezado) return 0;
+    empezado = true;
+    if (!afd.esFinal(estado)) return 0;
+    oyente.coincidencia(0);
+    return 1;
+  }
+
+  /**
+   * Guardar el estado al terminar un trozo
+   * @param ultimo Estado después del último caracter
+   * @param leidos Caracteres o bytes del trozo
+   * @param medir Si se registra en las métricas
+   * @param inicio Valor de System.nanoTime() al empezar el trozo
+   */
+  private void terminar(int ultimo, int leidos, boolean medir, long inicio) {
+    estado = ultimo;
+    posicion += leidos;
+    // Con el AFD se visita un estado por caracter
+    if (medir) Metricas.global().registrarReconocimiento(Metricas.TiposReconocedor.FLUJO, inicio, leidos, leidos);
+  }
+
+  /** Volver al inicio del flujo, para empezar otro sin crear un reconocedor nuevo */
+  public void reiniciar() {
+    estado = afd.estadoInicial();
+    posicion = 0;
+    empezado = false;
+  }
+
+  /**
+   * Obtener cuántos bytes o caracteres se han leído
+   * @return Posición actual en el flujo
+   */
+  public long getPosicion() { return posicion; }
+}
@@ -0,0 +1,375 @@
+package convertidor;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor local que convierte expresiones y reconoce palabras para muchos clientes a la vez,
+ * así todos comparten la misma JVM ya calentada y los mismos autómatas en lugar de tener cada uno su copia.
+ * Escucha solo en la interfaz local y cada conexión se atiende en su propio hilo virtual, por lo que decenas
+ * de miles de clientes ligeros cuestan poca memoria. En Java 17 no hay hilos virtuales y se usan hilos normales.
+ * <p>
+ * El protocolo es de texto en UTF-8, una petición por línea y una respuesta por línea:
+ * <pre>
+ * COMPILAR expresión      OK id | ERROR mensaje
+ * RECONOCER id palabra    SI | NO | ERROR mensaje
+ * SALIR                   cierra la conexión
+ * </pre>
+ * La palabra es todo lo que sigue al espacio después del id, puede estar vacía o tener espacios.
+ * Una petición de más de LONGITUD_MAXIMA_PETICION caracteres recibe ERROR y se cierra la conexión, sin guardar
+ * el resto de la línea.
+ * Las expresiones que son iguales al normalizarlas reciben el mismo id, sin importar qué cliente las compiló.
+ * Las respuestas se envían cuando el cliente ya no tiene peticiones pendientes, así un cliente puede enviar
+ * muchas líneas seguidas sin esperar cada respuesta.
+ * <p>
+ * Se guarda un número máximo de autómatas compilados. Al llenarse se desaloja el que se usó hace más tiempo
+ * (compilándolo o reconociendo con él) junto con su id, así ningún cliente puede llenar el servidor. Los ids nunca
+ * se reutilizan: RECONOCER con un id desalojado responde ERROR y el cliente debe volver a compilar la expresión,
+ * que recibe un id nuevo.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see Expresion#normalizar(String)
+ */
+public class ServidorAutomatas implements Closeable {
+  /** Puerto si no se indica otro */
+  public static final int PUERTO_PREDETERMINADO = 4646;
+  /** Número de autómatas compilados si no se indica otro */
+  public static final int CAPACIDAD_PREDETERMINADA = 1024;
+  /** Número máximo de caracteres de una petición, sin el salto de línea */
+  public static final int LONGITUD_MAXIMA_PETICION = 1 << 16;
+  /** AFD perezosos libres que se guardan por autómata, los demás se descartan al terminar de reconocer */
+  static final int MAXIMO_LIBRES = Runtime.getRuntime().availableProcessors();
+  /** Límite de memoria de cada AFD perezoso, menor al predeterminado porque puede haber varios por autómata */
+  static final long LIMITE_MEMORIA_AFD = 1L << 20;
+  /** Milisegundos que se espera después de un error al aceptar una conexión */
+  private static final long PAUSA_ERROR = 100;
+
+  /** Socket donde se aceptan las conexiones */
+  private final ServerSocket servidor;
+  /** Hilos que atienden las conexiones */
+  private final ExecutorService hilos;
+  /** Número máximo de autómatas compilados */
+  private final int capacidad;
+  /** Autómatas compilados por id, en orden de uso, del menos al más reciente; solo se usa con su candado */
+  private final LinkedHashMap<Integer, Compilado> compilados;
+  /** Id de cada expresión normalizada que sigue compilada, solo se usa con el candado de compilados */
+  private final HashMap<String, Integer> ids;
+  /** Siguiente id que se asigna, solo se modifica con el candado de compilados */
+  private int siguienteId;
+
+  /**
+   * Instanciar un servidor que guarda hasta CAPACIDAD_PREDETERMINADA autómatas
+   * @param puerto Puerto local, 0 para que el sistema elija uno libre
+   * @throws IOException Si no se puede abrir el puerto
+   */
+  public ServidorAutomatas(int puerto) throws IOException { this(puerto, CAPACIDAD_PREDETERMINADA); }
+
+  /**
+   * Instanciar un servidor, el puerto se abre de inmediato pero las conexiones se atienden hasta llamar a atender()
+   * @param puerto Puerto local, 0 para que el sistema elija uno libre
+   * @param capacidad Número máximo de autómatas compilados, al llenarse se desaloja el menos usado
+   * @throws IOException Si no se puede abrir el puerto
+   * @throws IllegalArgumentException Si la capacidad no es positiva
+   */
+  public ServidorAutomatas(int puerto, int capacidad) throws IOException {
+    if (capacidad <= 0) throw new IllegalArgumentException("La capacidad debe ser positiva");
+    this.capacidad = capacidad;
+    this.ids = new HashMap<>();
+    // Con accessOrder cada get mueve la entrada al final, la primera es la menos usada
+    this.compilados = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Compilado> masAntiguo) {
+        if (size() <= ServidorAutomatas.this.capacidad) return false;
+        // El id se desaloja con su autómata, así el AFN ya no es alcanzable
+        ids.remove(masAntiguo.getValue().llave);
+        return true;
+      }
+    };
+    // Una cola de conexiones grande para recibir muchos clientes a la vez
+    this.servidor = new ServerSocket(puerto, 4096, InetAddress.getLoopbackAddress());
+    this.hilos = crearHilos();
+  }
+
+  /**
+   * Crear un hilo virtual por conexión si la JVM los tiene (Java 21 o mayor), si no un pool de hilos normales.
+   * Se busca el método por reflexión porque el proyecto se compila para Java 17.
+   * @return El ejecutor de las conexiones
+   */
+  private static ExecutorService crearHilos() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  /**
+   * Aceptar conexiones hasta que se cierre el servidor, cada una se atiende en su propio hilo.
+   * Si no se puede aceptar una conexión, por ejemplo porque se acabaron los descriptores de archivo,
+   * se reporta en la salida de errores y se vuelve a intentar un momento después sin detener el servidor.
+   */
+  public void atender() {
+    while (!servidor.isClosed()) {
+      Socket cliente;
+      try {
+        cliente = servidor.accept();
+      } catch (IOException e) {
+        // accept() termina con una excepción al cerrar el servidor desde otro hilo
+        if (servidor.isClosed()) return;
+        System.err.println(e);
+        esperar();
+        continue;
+      }
+      hilos.execute(() -> atender(cliente));
+    }
+  }
+
+  /** Esperar antes de volver a aceptar conexiones después de un error */
+  private static void esperar() {
+    try {
+      Thread.sleep(PAUSA_ERROR);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Atender las peticiones de un cliente hasta que cierre la conexión o envíe SALIR
+   * @param cliente Conexión del cliente
+   */
+  private void atender(Socket cliente) {
+    try (cliente) {
+      cliente.setTcpNoDelay(true);
+      BufferedReader entrada = new BufferedReader(
+              new InputStreamReader(cliente.getInputStream(), StandardCharsets.UTF_8)
+      );
+      Writer salida = new BufferedWriter(new OutputStreamWriter(cliente.getOutputStream(), StandardCharsets.UTF_8));
+
+      StringBuilder linea = new StringBuilder();
+      String peticion;
+      try {
+        while ((peticion = leerPeticion(entrada, linea)) != null) {
+          if (peticion.equals("SALIR")) break;
+          salida.write(responder(peticion));
+          salida.write('\n');
+          // Las respuestas se juntan mientras el cliente tenga más peticiones en camino
+          if (!entrada.ready()) salida.flush();
+        }
+      } catch (IllegalStateException e) {
+        // La petición es demasiado larga, se responde y se cierra la conexión sin leer el resto
+        salida.write("ERROR " + e.getMessage());
+        salida.write('\n');
+      }
+      salida.flush();
+    } catch (IOException e) {
+      // El cliente cerró la conexión, no afecta a los demás
+    }
+  }
+
+  /**
+   * Leer una petición sin guardar más de LONGITUD_MAXIMA_PETICION caracteres, a diferencia de readLine() que guarda
+   * la línea completa aunque nunca termine. Como readLine(), acepta \n o \r\n como fin de línea.
+   * @param entrada Entrada del cliente
+   * @param linea Se reutiliza entre peticiones de la misma conexión
+   * @return La petición sin el salto de línea, null si el cliente cerró la conexión
+   * @throws IOException Si no se puede leer la entrada
+   * @throws IllegalStateException Si la petición tiene más de LONGITUD_MAXIMA_PETICION caracteres
+   */
+  static String leerPeticion(Reader entrada, StringBuilder linea) throws IOException {
+    linea.setLength(0);
+    int c;
+    while ((c = entrada.read()) != '\n') {
+      if (c < 0) {
+        if (linea.length() == 0) return null;
+        break;
+      }
+      if (linea.length() == LONGITUD_MAXIMA_PETICION)
+        throw new IllegalStateException("la petición tiene más de " + LONGITUD_MAXIMA_PETICION + " caracteres");
+      linea.append((char) c);
+    }
+    int longitud = linea.length();
+    if (longitud > 0 && linea.charAt(longitud - 1) == '\r') linea.setLength(longitud - 1);
+    return linea.toString();
+  }
+
+  /**
+   * Procesar una petición del protocolo
+   * @param peticion Línea recibida, sin el salto de línea
+   * @return La respuesta, sin el salto de línea
+   */
+  String responder(String peticion) {
+    int espacio = peticion.indexOf(' ');
+    String comando = espacio < 0 ? peticion : peticion.substring(0, espacio);
+    try {
+      switch (comando) {
+        case "COMPILAR" -> {
+          if (espacio < 0) return "ERROR falta la expresión";
+          return "OK " + compilar(peticion.substring(espacio + 1));
+        }
+        case "RECONOCER" -> {
+          int espacioPalabra = espacio < 0 ? -1 : peticion.indexOf(' ', espacio + 1);
+          if (espacioPalabra < 0) return "ERROR faltan el id y la palabra";
+          int id = Integer.parseInt(peticion.substring(espacio + 1, espacioPalabra));
+          return reconocer(id, peticion.substring(espacioPalabra + 1)) ? "SI" : "NO";
+        }
+        default -> {
+          return "ERROR comando desconocido: " + comando;
+        }
+      }
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      // Los mensajes de las expresiones inválidas empiezan con un salto de línea
+      return "ERROR " + e.getMessage().strip().replace('\n', ' ');
+    }
+  }
+
+  /**
+   * Compilar una expresión, o encontrar su id si sigue compilada.
+   * Si ya hay el número máximo de autómatas se desaloja el que se usó hace más tiempo.
+   * @param expresionRegular Expresión regular
+   * @return El id del autómata, el mismo para todas las expresiones iguales al normalizarlas mientras no se desaloje
+   * @throws IllegalArgumentException Si la expresión regular no es válida
+   */
+  public int compilar(String expresionRegular) {
+    String llave = Expresion.normalizar(expresionRegular);
+    synchronized (compilados) {
+      Integer id = ids.get(llave);
+      if (id != null) {
+        compilados.get(id); // Marcarlo como el más reciente
+        return id;
+      }
+    }
+
+    // Convertir sin el candado, si otro hilo compila la misma expresión al mismo tiempo se queda el primero
+    Convertidor convertidor = new Convertidor(llave, OyenteConversion.SILENCIOSO);
+    convertidor.convertir();
+    Compilado compilado = new Compilado(llave, convertidor.getAFN());
+    synchronized (compilados) {
+      Integer id = ids.get(llave);
+      if (id != null) {
+        compilados.get(id);
+        return id;
+      }
+      id = siguienteId++;
+      ids.put(llave, id);
+      compilados.put(id, compilado);
+      return id;
+    }
+  }
+
+  /**
+   * Verificar si un autómata compilado acepta una palabra completa
+   * @param id Id del autómata
+   * @param palabra Palabra a reconocer
+   * @return True si la acepta
+   * @throws IllegalArgumentException Si no hay un autómata con ese id o ya se desalojó
+   */
+  public boolean reconocer(int id, CharSequence palabra) {
+    Compilado compilado;
+    synchronized (compilados) {
+      compilado = compilados.get(id);
+    }
+    if (compilado == null) throw new IllegalArgumentException("No existe el autómata " + id + " o ya se desalojó");
+    // El reconocimiento se hace fuera del candado
+    return compilado.acepta(palabra);
+  }
+
+  /**
+   * Obtener cuántos AFD perezosos libres se guardan para un autómata
+   * @param id Id del autómata
+   * @return Número de AFD libres, 0 si el autómata usa SimuladorBits o ya se desalojó
+   */
+  int getNumeroLibres(int id) {
+    Compilado compilado;
+    synchronized (compilados) {
+      compilado = compilados.get(id);
+    }
+    return compilado == null ? 0 : compilado.libres.size();
+  }
+
+  /**
+   * Obtener el puerto donde escucha el servidor
+   * @return El puerto local
+   */
+  public int getPuerto() { return servidor.getLocalPort(); }
+
+  /**
+   * Obtener el número de autómatas compilados que no se han desalojado
+   * @return Número de autómatas guardados, a lo más la capacidad
+   */
+  public int getNumeroCompilados() {
+    synchronized (compilados) {
+      return compilados.size();
+    }
+  }
+
+  /**
+   * Obtener el número máximo de autómatas compilados
+   * @return Capacidad del servidor
+   */
+  public int getCapacidad() { return capacidad; }
+
+  /**
+   * Dejar de aceptar conexiones, las que ya se aceptaron terminan cuando su cliente las cierre
+   * @throws IOException Si no se puede cerrar el socket
+   */
+  @Override
+  public void close() throws IOException {
+    servidor.close();
+    hilos.shutdown();
+  }
+
+  /**
+   * Un autómata compilado con sus reconocedores.
+   * Con hasta 64 estados se comparte un solo SimuladorBits, que no guarda estado. Con más estados se usa un AFD
+   * perezoso, que no se puede usar desde varios hilos, así que se guardan los que están libres para que la
+   * siguiente petición reutilice las transiciones que ya se calcularon. Se guardan a lo más MAXIMO_LIBRES de
+   * LIMITE_MEMORIA_AFD bytes cada uno; los que sobran cuando muchas peticiones reconocen a la vez se descartan.
+   */
+  private static class Compilado {
+    /** Expresión normalizada, para quitar su id al desalojarlo */
+    private final String llave;
+    /** AFN de la expresión */
+    private final AFN automata;
+    /** Reconocedor seguro entre hilos, null si no lo hay */
+    private final SimuladorBits compartido;
+    /** AFD que no están en uso, a lo más MAXIMO_LIBRES */
+    private final ArrayBlockingQueue<AFDPerezoso> libres;
+
+    /**
+     * Instanciar un autómata compilado
+     * @param llave Expresión normalizada
+     * @param automata AFN ya convertido
+     */
+    Compilado(String llave, AFN automata) {
+      this.llave = llave;
+      this.automata = automata;
+      this.compartido = SimuladorBits.esAplicable(automata) ? new SimuladorBits(automata) : null;
+      this.libres = new ArrayBlockingQueue<>(MAXIMO_LIBRES);
+    }
+
+    /**
+     * Verificar si el autómata acepta una palabra completa
+     * @param palabra Palabra a reconocer
+     * @return True si la acepta
+     */
+    boolean acepta(CharSequence palabra) {
+      if (compartido != null) return compartido.acepta(palabra);
+      AFDPerezoso afd = libres.poll();
+      if (afd == null) afd = new AFDPerezoso(automata, LIMITE_MEMORIA_AFD);
+      try {
+        return afd.acepta(palabra);
+      } finally {
+        // Si ya hay MAXIMO_LIBRES guardados este se descarta
+        libres.offer(afd);
+      }
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package convertidor;
+
+/**
+ * Clase que reconoce palabras simulando el AFN con conjuntos de estados (simulación de Thompson).
+ * En cada caracter se avanza a la vez desde todos los estados activos y se siguen las transiciones
+ * de palabra vacía, por lo que reconocer una palabra de longitud n cuesta O(n·m).
+ * Los conjuntos y la pila se reutilizan entre llamadas, no se crean objetos por cada caracter.
+ * No es seguro usar la misma instancia desde varios hilos.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see AFN#crearSimulador()
+ */
+public class SimuladorAFN implements Reconocedor {
+  /** Simbolo que representa la palabra vacía en las transiciones */
+  static final char PALABRA_VACIA = '_';
+
+  /** Número de estados del AFN */
+  private final int numeroEstados;
+  /** Indice del estado inicial */
+  private final int estadoInicial;
+  /** Para cada estado, si es final */
+  private final boolean[] finales;
+  /** Para cada estado, donde inician sus transiciones de palabra vacía en destinosVacios */
+  private final int[] inicioVacias;
+  /** Destinos de las transiciones de palabra vacía, agrupados por estado de origen */
+  private final int[] destinosVacios;
+  /** Para cada estado, donde inician sus transiciones con simbolo en simbolos y destinosSimbolos */
+  private final int[] inicioSimbolos;
+  /** Simbolos de las transiciones, agrupados por estado de origen */
+  private final char[] simbolos;
+  /** Destinos de las transiciones con simbolo, agrupados por estado de origen */
+  private final int[] destinosSimbolos;
+
+  /** Estados activos antes de leer el caracter */
+  private ConjuntoDisperso actuales;
+  /** Estados activos después de leer el caracter */
+  private ConjuntoDisperso siguientes;
+  /** Pila para calcular las cerraduras de palabra vacía */
+  private final int[] pila;
+
+  /**
+   * Instanciar un simulador del AFN.
+   * Solo se toman en cuenta las transiciones con un simbolo o la palabra vacía, como en la tabla D.
+   * Los arreglos de transiciones se toman del índice de adyacencia del AFN, no se copian.
+   * @param automata AFN ya convertido
+   */
+  public SimuladorAFN(AFN automata) {
+    // El indice de cada estado es su número
+    this.numeroEstados = automata.getNumeroEstados();
+    this.estadoInicial = automata.getEstadoInicial().getNumero();
+    this.finales = new boolean[numeroEstados];
+    for (int q = 0; q < numeroEstados; q++) this.finales[q] = automata.esFinal(q);
+
+    // Las transiciones ya agrupadas por origen se comparten con los demás que usan el AFN
+    IndiceAdyacencia indice = automata.getIndice();
+    this.inicioVacias = indice.getInicioVacias();
+    this.destinosVacios = indice.getDestinosVacios();
+    this.inicioSimbolos = indice.getInicioSimbolos();
+    this.simbolos = indice.getSimbolosTransiciones();
+    this.destinosSimbolos = indice.getDestinosSimbolos();
+
+    this.actuales = new ConjuntoDisperso(numeroEstados);
+    this.siguientes = new ConjuntoDisperso(numeroEstados);
+    this.pila = new int[numeroEstados];
+  }
+
+  /**
+   * Verificar si el AFN acepta la palabra completa
+   * @param palabra Palabra a reconocer
+   * @return True si al terminar de leer la palabra hay algún estado final activo
+   */
+  @Override
+  public boolean acepta(CharSequence palabra) {
+    boolean medir = Metricas.medir();
+    long inicio = medir ? System.nanoTime() : 0;
+    actuales.limpiar();
+    agregarCerradura(estadoInicial, actuales);
+    long visitados = actuales.tamano();
+
+    int i = 0;
+    for (; i < palabra.length() && !actuales.estaVacio(); i++) {
+      avanzar(actuales, palabra.charAt(i), siguientes);
+      // Intercambiar los conjuntos para no crear nuevos
+      ConjuntoDisperso aux = actuales;
+      actuales = siguientes;
+      siguientes = aux;
+      visitados += actuales.tamano();
+    }
+
+    boolean aceptada = contieneFinal(actuales);
+    if (medir)
+      Metricas.global().registrarReconocimiento(Metricas.TiposReconocedor.SIMULADOR_AFN, inicio, i, visitados);
+    return aceptada;
+  }
+
+  /**
+   * Calcular los estados a los que se llega desde un conjunto de estados leyendo un simbolo,
+   * incluyendo sus cerraduras de palabra vacía
+   * @param origen Estados activos antes de leer el simbolo
+   * @param simbolo Simbolo que se lee
+   * @param destino Conjunto donde se guardan los estados alcanzados, se vacía antes
+   */
+  void avanzar(ConjuntoDisperso origen, char simbolo, ConjuntoDisperso destino) {
+    destino.limpiar();
+    for (int i = 0; i < origen.tamano(); i++) {
+      int q = origen.get(i);
+      for (int k = inicioSimbolos[q]; k < inicioSimbolos[q + 1]; k++)
+        if (simbolos[k] == simbolo) agregarCerradura(destinosSimbolos[k], destino);
+    }
+  }
+
+  /**
+   * Agregar un estado y todos los que se alcanzan desde él con transiciones de palabra vacía
+   * @param estado Estado a agregar
+   * @param conjunto Conjunto donde se agregan los estados
+   */
+  void agregarCerradura(int estado, ConjuntoDisperso conjunto) {
+    if (!conjunto.agregar(estado)) return;
+    int cima = 0;
+    pila[cima++] = estado;
+
+    while (cima > 0) {
+      int q = pila[--cima];
+      for (int k = inicioVacias[q]; k < inicioVacias[q + 1]; k++)
+        if (conjunto.agregar(destinosVacios[k])) pila[cima++] = destinosVacios[k];
+    }
+  }
+
+  /**
+   * Verificar si en un conjunto hay algún estado final
+   * @param conjunto Conjunto de estados
+   * @return True si al menos un estado es final
+   */
+  boolean contieneFinal(ConjuntoDisperso conjunto) {
+    for (int i = 0; i < conjunto.tamano(); i++)
+      if (finales[conjunto.get(i)]) return true;
+    return false;
+  }
+
+  /**
+   * Verificar si en un arreglo de estados hay algún estado final
+   * @param estados Indices de los estados
+   * @return True si al menos un estado es final
+   */
+  boolean contieneFinal(int[] estados) {
+    for (int q : estados)
+      if (finales[q]) return true;
+    return false;
+  }
+
+  /**
+   * Obtener el número de estados del AFN
+   * @return Número de estados
+   */
+  int getNumeroEstados() { return numeroEstados; }
+
+  /**
+   * Obtener el indice del estado inicial
+   * @return Indice del estado inicial
+   */
+  int getEstadoInicial() { return estadoInicial; }
+
+  /**
+   * Verificar si un estado es final
+   * @param estado Indice del estado
+   * @return True si es final
+   */
+  boolean esFinal(int estado) { return finales[estado]; }
+}
@@ -0,0 +1,127 @@
+package convertidor;
+
+/**
+ * Clase que reconoce palabras con AFN de hasta 64 estados guardando el conjunto de estados activos en un long,
+ * un bit por estado (simulación paralela de bits). Las cerraduras de palabra vacía se calculan una sola vez
+ * al instanciarlo, así que cada caracter solo consulta una tabla de máscaras por cada byte del conjunto
+ * y junta los resultados con OR, sin recorrer los estados ni sus transiciones.
+ * <p>
+ * Para cada clase de simbolos y cada byte k del conjunto hay 256 máscaras: la máscara en la posición b tiene los
+ * estados que se alcanzan, con sus cerraduras, leyendo un simbolo de la clase desde los estados 8k a 8k + 7
+ * marcados en b. La tabla ocupa 2 KB por clase y por cada 8 estados. Como el AFN no se modifica después de
+ * instanciarlo, la misma instancia se puede usar desde varios hilos.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see AFN#crearReconocedor()
+ */
+public class SimuladorBits implements Reconocedor {
+  /** Número máximo de estados del AFN, uno por bit del long */
+  public static final int MAXIMO_ESTADOS = Long.SIZE;
+
+  /** Clase de cada simbolo, es la columna en la tabla */
+  private final ClasesSimbolos clases;
+  /** Número de bytes del conjunto de estados que se consultan por caracter */
+  private final int bytes;
+  /** Máscaras de los estados alcanzados, por clase, byte del conjunto y valor del byte */
+  private final long[] tabla;
+  /** Cerradura del estado inicial */
+  private final long inicial;
+  /** Estados finales */
+  private final long finales;
+
+  /**
+   * Instanciar un simulador del AFN
+   * @param automata AFN ya convertido, con hasta MAXIMO_ESTADOS estados
+   * @throws IllegalArgumentException Si el AFN tiene más de MAXIMO_ESTADOS estados
+   */
+  public SimuladorBits(AFN automata) {
+    if (!esAplicable(automata))
+      throw new IllegalArgumentException("El AFN tiene más de " + MAXIMO_ESTADOS + " estados");
+
+    SimuladorAFN simulador = automata.crearSimulador();
+    int numeroEstados = simulador.getNumeroEstados();
+    IndiceAdyacencia indice = automata.getIndice();
+    this.clases = new ClasesSimbolos(indice);
+    int numeroClases = clases.getNumeroClases();
+    this.bytes = (numeroEstados + 7) >>> 3;
+
+    // Cerradura de palabra vacía de cada estado
+    long[] cerraduras = new long[numeroEstados];
+    ConjuntoDisperso cerradura = new ConjuntoDisperso(numeroEstados);
+    long finales = 0;
+    for (int q = 0; q < numeroEstados; q++) {
+      cerradura.limpiar();
+      simulador.agregarCerradura(q, cerradura);
+      for (int i = 0; i < cerradura.tamano(); i++) cerraduras[q] |= 1L << cerradura.get(i);
+      if (simulador.esFinal(q)) finales |= 1L << q;
+    }
+    this.inicial = cerraduras[simulador.getEstadoInicial()];
+    this.finales = finales;
+
+    // Estados alcanzados desde cada estado con cada clase, ya con sus cerraduras
+    long[] sucesores = new long[numeroClases * numeroEstados];
+    int[] inicioSimbolos = indice.getInicioSimbolos();
+    char[] simbolos = indice.getSimbolosTransiciones();
+    int[] destinos = indice.getDestinosSimbolos();
+    for (int q = 0; q < numeroEstados; q++)
+      for (int k = inicioSimbolos[q]; k < inicioSimbolos[q + 1]; k++)
+        sucesores[clases.clase(simbolos[k]) * numeroEstados + q] |= cerraduras[destinos[k]];
+
+    // Cada máscara es la de b sin su bit más bajo, más los sucesores del estado de ese bit
+    this.tabla = new long[numeroClases * bytes << 8];
+    for (int columna = 0; columna < numeroClases; columna++)
+      for (int k = 0; k < bytes; k++) {
+        int base = (columna * bytes + k) << 8;
+        for (int b = 1; b < 256; b++) {
+          int q = (k << 3) + Integer.numberOfTrailingZeros(b);
+          tabla[base + b] = tabla[base + (b & (b - 1))]
+                  | (q < numeroEstados ? sucesores[columna * numeroEstados + q] : 0);
+        }
+      }
+  }
+
+  /**
+   * Verificar si un AFN es lo suficientemente pequeño para este simulador
+   * @param automata AFN ya convertido
+   * @return True si tiene hasta MAXIMO_ESTADOS estados
+   */
+  public static boolean esAplicable(AFN automata) { return automata.getNumeroEstados() <= MAXIMO_ESTADOS; }
+
+  /**
+   * Verificar si el AFN acepta la palabra completa
+   * @param palabra Palabra a reconocer
+   * @return True si al terminar de leer la palabra hay algún estado final activo
+   */
+  @Override
+  public boolean acepta(CharSequence palabra) {
+    boolean medir = Metricas.medir();
+    long inicio = medir ? System.nanoTime() : 0;
+    long activos = inicial;
+    long visitados = Long.bitCount(activos);
+    int i = 0;
+    while (i < palabra.length() && activos != 0) {
+      activos = avanzar(activos, palabra.charAt(i++));
+      if (medir) visitados += Long.bitCount(activos);
+    }
+
+    if (medir)
+      Metricas.global().registrarReconocimiento(Metricas.TiposReconocedor.SIMULADOR_BITS, inicio, i, visitados);
+    return (activos & finales) != 0;
+  }
+
+  /**
+   * Calcular los estados a los que se llega leyendo un simbolo
+   * @param activos Estados activos, un bit por estado
+   * @param simbolo Simbolo que se lee
+   * @return Estados alcanzados, 0 si ninguno
+   */
+  long avanzar(long activos, char simbolo) {
+    int columna = clases.clase(simbolo);
+    if (columna < 0) return 0;
+
+    long siguientes = 0;
+    int base = columna * bytes << 8;
+    for (int k = 0; k < bytes; k++, base += 256, activos >>>= 8)
+      siguientes |= tabla[base + (int) (activos & 0xFF)];
+    return siguientes;
+  }
+}
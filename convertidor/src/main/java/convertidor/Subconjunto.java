@@ -0,0 +1,53 @@
+package convertidor;
+
+import java.util.Arrays;
+
+/**
+ * Clase para usar un conjunto ordenado de estados del AFN como clave de un HashMap,
+ * en la construcción de subconjuntos del AFD.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see AFDPerezoso
+ * @see AFDMinimo
+ */
+class Subconjunto {
+  /** Estados del AFN ordenados */
+  private final int[] estados;
+  /** Hash calculado una sola vez */
+  private final int hash;
+
+  /**
+   * Instanciar un subconjunto
+   * @param estados Estados del AFN ordenados de menor a mayor, el arreglo ya no se debe modificar
+   */
+  Subconjunto(int[] estados) {
+    this.estados = estados;
+    this.hash = Arrays.hashCode(estados);
+  }
+
+  /**
+   * Crear el subconjunto de los estados de un conjunto disperso
+   * @param conjunto Estados del AFN
+   * @param auxiliar Arreglo para ordenar los estados, de al menos el tamaño del conjunto
+   * @return El subconjunto con los estados ordenados
+   */
+  static Subconjunto de(ConjuntoDisperso conjunto, int[] auxiliar) {
+    int n = conjunto.tamano();
+    for (int i = 0; i < n; i++) auxiliar[i] = conjunto.get(i);
+    Arrays.sort(auxiliar, 0, n);
+    return new Subconjunto(Arrays.copyOf(auxiliar, n));
+  }
+
+  /**
+   * Obtener los estados del subconjunto
+   * @return Arreglo ordenado de estados del AFN
+   */
+  int[] getEstados() { return estados; }
+
+  @Override
+  public int hashCode() { return hash; }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof Subconjunto s && hash == s.hash && Arrays.equals(estados, s.estados);
+  }
+}
@@ -1,6 +1,8 @@
+package convertidor;
+
 /**
  * Clase para representar una transición.
- * Implementa la interfaz Comparable para que sea comparable por el nombre del estado de origen.
+ * Implementa la interfaz Comparable para que sea comparable por el número del estado de origen.
  * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
  */
 public class Transicion implements Comparable<Transicion> {
@@ -61,7 +63,7 @@ public class Transicion implements Comparable<Transicion> {
   public int compareTo(Transicion o) {
     int comparacion = this.estadoOrigen.compareTo(o.estadoOrigen);
     if (comparacion == 0)
-      return this.expresion.getExpresionRegular().compareTo(o.expresion.getExpresionRegular());
+      return this.expresion.getNodo().compararTexto(o.expresion.getNodo());
     return comparacion;
   }
 }
@@ -0,0 +1,169 @@
+package convertidor;
+
+import java.util.Arrays;
+
+/**
+ * Clase que valida una expresión regular en una sola pasada, sin crear objetos si la expresión es válida.
+ * Acepta exactamente las mismas expresiones que las verificaciones de Expresion#esValida:
+ * () y [] balanceados, sin simbolos de unión o de Kleene repetidos, sin unión seguida de * y que no sea
+ * solo un simbolo de unión o de Kleene (con o sin una agrupación alrededor).
+ * Los tipos de las agrupaciones abiertas se guardan como bits en un long, solo si hay más de 64 abiertas
+ * al mismo tiempo se usa un arreglo. Al encontrar un error se reporta la posición y la regla que no se cumple.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see ExpresionInvalidaException
+ */
+public class Validador {
+  /** Reglas que debe cumplir una expresión regular */
+  public enum Reglas {
+    /** Hay un ) o ] sin su ( o [ */
+    CIERRE_SIN_APERTURA("hay un cierre sin su apertura"),
+    /** Un ) cierra un [ o un ] cierra un ( */
+    CIERRE_DIFERENTE("el cierre no corresponde a la apertura"),
+    /** Un ( o [ nunca se cierra */
+    APERTURA_SIN_CIERRE("la agrupación no se cierra"),
+    /** La expresión solo es un simbolo de unión o de Kleene, ejemplo: + o (*) */
+    SOLO_OPERADOR("solo contiene un simbolo de unión o de Kleene"),
+    /** El mismo simbolo de unión o de Kleene dos veces seguidas, ejemplo: a**, a++b */
+    OPERADOR_REPETIDO("contiene un simbolo de unión o de Kleene repetido"),
+    /** Un simbolo de unión seguido de *, ejemplo: a+*b */
+    UNION_CON_KLEENE("contiene un simbolo de unión seguido de cerradura de Kleene");
+
+    /** Descripción del error cuando no se cumple la regla */
+    private final String descripcion;
+
+    /**
+     * Instanciar una regla
+     * @param descripcion Descripción del error
+     */
+    Reglas(String descripcion) { this.descripcion = descripcion; }
+
+    /**
+     * Obtener la descripción del error
+     * @return Descripción de lo que no se cumple
+     */
+    public String getDescripcion() { return descripcion; }
+  }
+
+  /** Resultado de buscarError cuando la expresión es válida */
+  private static final long SIN_ERROR = -1;
+  /** Reglas en el orden de su ordinal, para no crear el arreglo de values() en cada error */
+  private static final Reglas[] REGLAS = Reglas.values();
+
+  /** No se instancia, solo tiene métodos estáticos */
+  private Validador() {}
+
+  /**
+   * Verificar si una expresión regular es válida para ser convertida
+   * @param expresionRegular Expresión regular a examinar
+   * @return True si es válida
+   */
+  public static boolean esValida(CharSequence expresionRegular) { return buscarError(expresionRegular) == SIN_ERROR; }
+
+  /**
+   * Validar una expresión regular
+   * @param expresionRegular Expresión regular a examinar
+   * @throws ExpresionInvalidaException Con la posición y la regla del primer error encontrado
+   */
+  public static void validar(CharSequence expresionRegular) {
+    long error = buscarError(expresionRegular);
+    if (error != SIN_ERROR) throw new ExpresionInvalidaException(REGLAS[(int) (error & 0xFF)], (int) (error >>> 8));
+  }
+
+  /**
+   * Recorrer la expresión una vez buscando el primer error
+   * @param expresionRegular Expresión regular a examinar
+   * @return SIN_ERROR, o la posición del error recorrida 8 bits a la izquierda junto con el ordinal de la regla
+   */
+  private static long buscarError(CharSequence expresionRegular) {
+    int n = expresionRegular.length();
+    // Bit en 1 si la agrupación abierta es [, en 0 si es (
+    long pila = 0;
+    long[] pilaExtra = null; // Solo para las agrupaciones abiertas después de las primeras 64
+    int profundidad = 0;
+    char anterior = 0;
+
+    for (int i = 0; i < n; i++) {
+      char c = expresionRegular.charAt(i);
+      switch (c) {
+        case '(', '[' -> {
+          boolean corchete = c == '[';
+          if (profundidad < 64) pila = corchete ? pila | (1L << profundidad) : pila & ~(1L << profundidad);
+          else {
+            int k = profundidad - 64;
+            if (pilaExtra == null) pilaExtra = new long[4];
+            else if (k >> 6 >= pilaExtra.length) pilaExtra = Arrays.copyOf(pilaExtra, pilaExtra.length * 2);
+            if (corchete) pilaExtra[k >> 6] |= 1L << k;
+            else pilaExtra[k >> 6] &= ~(1L << k);
+          }
+          profundidad++;
+        }
+        case ')', ']' -> {
+          if (profundidad == 0) return error(Reglas.CIERRE_SIN_APERTURA, i);
+          profundidad--;
+          boolean corchete = profundidad < 64
+                  ? (pila & (1L << profundidad)) != 0
+                  : (pilaExtra[(profundidad - 64) >> 6] & (1L << (profundidad - 64))) != 0;
+          if (corchete != (c == ']')) return error(Reglas.CIERRE_DIFERENTE, i);
+        }
+        case '*', '+', ',', '|' -> {
+          if (c == anterior) return error(Reglas.OPERADOR_REPETIDO, i - 1);
+          if (c == '*' && esUnion(anterior)) return error(Reglas.UNION_CON_KLEENE, i - 1);
+        }
+        default -> {}
+      }
+      anterior = c;
+    }
+
+    if (profundidad > 0) return error(Reglas.APERTURA_SIN_CIERRE, buscarAperturaSinCierre(expresionRegular));
+
+    // Solo un operador, o un operador dentro de una agrupación que se quita al analizar
+    if (n == 1 && esOperador(expresionRegular.charAt(0))) return error(Reglas.SOLO_OPERADOR, 0);
+    if (n == 3 && esOperador(expresionRegular.charAt(1))) {
+      char apertura = expresionRegular.charAt(0), cierre = expresionRegular.charAt(2);
+      if ((apertura == '(' && cierre == ')') || (apertura == '[' && cierre == ']'))
+        return error(Reglas.SOLO_OPERADOR, 1);
+    }
+    return SIN_ERROR;
+  }
+
+  /**
+   * Encontrar la última agrupación que no se cierra, recorriendo la expresión de atrás hacia adelante.
+   * Solo se usa al encontrar un error, la expresión ya no tiene cierres sin apertura ni diferentes.
+   * @param expresionRegular Expresión regular con agrupaciones sin cerrar
+   * @return Posición del ( o [ sin cierre
+   */
+  private static int buscarAperturaSinCierre(CharSequence expresionRegular) {
+    int cierres = 0;
+    for (int i = expresionRegular.length() - 1; i >= 0; i--) {
+      char c = expresionRegular.charAt(i);
+      if (c == ')' || c == ']') cierres++;
+      else if (c == '(' || c == '[') {
+        if (cierres == 0) return i;
+        cierres--;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Codificar un error en un long para no crear objetos mientras se recorre la expresión
+   * @param regla Regla que no se cumple
+   * @param posicion Posición del error
+   * @return La posición recorrida 8 bits a la izquierda junto con el ordinal de la regla
+   */
+  private static long error(Reglas regla, int posicion) { return ((long) posicion << 8) | regla.ordinal(); }
+
+  /**
+   * Verificar si un caracter es metacaracter de unión
+   * @param c Caracter a examinar
+   * @return True si es +, , o |
+   */
+  private static boolean esUnion(char c) { return c == '+' || c == ',' || c == '|'; }
+
+  /**
+   * Verificar si un caracter es metacaracter de unión o de Kleene
+   * @param c Caracter a examinar
+   * @return True si es +, , | o *
+   */
+  private static boolean esOperador(char c) { return c == '*' || esUnion(c); }
+}
@@ -0,0 +1,66 @@
+package convertidor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas del archivo binario de autómatas: lo que se carga mapeado debe reconocer lo mismo que el AFN guardado.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see ArchivoAutomatas
+ */
+class ArchivoAutomatasTest {
+  /** Número de autómatas en el archivo */
+  private static final int AUTOMATAS = 500;
+  /** Palabras reconocidas con cada autómata */
+  private static final int PALABRAS = 40;
+
+  @Test
+  void guardarYCargar(@TempDir Path directorio) throws IOException {
+    ExpresionesAleatorias generador = new ExpresionesAleatorias(16);
+    List<ExpresionesAleatorias.Caso> casos = new ArrayList<>();
+    List<AFN> automatas = new ArrayList<>();
+    for (int i = 0; i < AUTOMATAS; i++) {
+      ExpresionesAleatorias.Caso caso = generador.generar(3);
+      casos.add(caso);
+      automatas.add(caso.convertir());
+    }
+    Path archivo = directorio.resolve("automatas.afnb");
+    ArchivoAutomatas.guardar(automatas, archivo);
+
+    List<AutomataMapeado> cargados = ArchivoAutomatas.cargar(archivo);
+    assertEquals(AUTOMATAS, cargados.size());
+    for (int i = 0; i < AUTOMATAS; i++) {
+      ExpresionesAleatorias.Caso caso = casos.get(i);
+      AutomataMapeado mapeado = cargados.get(i);
+      assertEquals(automatas.get(i).getNumeroEstados(), mapeado.getNumeroEstados(), caso::toString);
+      assertEquals(automatas.get(i).getEstadoInicial().getNumero(), mapeado.getEstadoInicial(), caso::toString);
+      for (int k = 0; k < PALABRAS; k++) {
+        String palabra = generador.palabra(12);
+        assertEquals(caso.acepta(palabra), mapeado.acepta(palabra), () -> caso + " con " + palabra);
+      }
+    }
+  }
+
+  @Test
+  void archivoVacio(@TempDir Path directorio) throws IOException {
+    Path archivo = directorio.resolve("vacio.afnb");
+    ArchivoAutomatas.guardar(List.of(), archivo);
+    assertEquals(0, ArchivoAutomatas.cargar(archivo).size());
+  }
+
+  @Test
+  void rechazarOtroFormato(@TempDir Path directorio) throws IOException {
+    Path archivo = directorio.resolve("texto.afnb");
+    Files.writeString(archivo, "no es un archivo de autómatas");
+    assertThrows(IOException.class, () -> ArchivoAutomatas.cargar(archivo));
+  }
+}
@@ -0,0 +1,90 @@
+package convertidor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de la búsqueda en archivos: la salida secuencial debe ser la de java.util.regex línea por línea, y la
+ * búsqueda en paralelo debe dar exactamente los mismos bytes. El archivo es más grande que varios trozos para que
+ * las líneas crucen los límites entre ellos.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see BuscadorArchivo
+ */
+class BuscadorArchivoTest {
+  /** Tamaño aproximado del archivo generado, en bytes */
+  private static final int TAMANO = 3 << 20;
+  /** Número de expresiones buscadas en el mismo archivo */
+  private static final int EXPRESIONES = 12;
+
+  @Test
+  void secuencialYParalelo(@TempDir Path directorio) throws IOException {
+    Path archivo = directorio.resolve("lineas.txt");
+    // Sin salto de línea al final, para probar que la última línea también se reporta
+    String[] lineas = generarLineas();
+    Files.writeString(archivo, String.join("\n", lineas), StandardCharsets.ISO_8859_1);
+
+    ForkJoinPool hilos = new ForkJoinPool(4);
+    try {
+      ExpresionesAleatorias generador = new ExpresionesAleatorias(9);
+      for (int i = 0; i < EXPRESIONES; i++) {
+        ExpresionesAleatorias.Caso caso = generador.generar(2);
+        AFN automata = caso.convertir();
+
+        StringBuilder esperada = new StringBuilder();
+        long esperadas = 0;
+        for (int l = 0; l < lineas.length; l++)
+          if (caso.contiene(lineas[l])) {
+            esperada.append(l + 1).append(':').append(lineas[l]).append('\n');
+            esperadas++;
+          }
+
+        ByteArrayOutputStream secuencial = new ByteArrayOutputStream();
+        long coincidencias = new BuscadorArchivo(automata, secuencial, false).buscar(archivo);
+        assertEquals(esperadas, coincidencias, caso::toString);
+        assertEquals(esperada.toString(), secuencial.toString(StandardCharsets.ISO_8859_1), caso::toString);
+
+        ByteArrayOutputStream paralela = new ByteArrayOutputStream();
+        assertEquals(coincidencias, new BuscadorArchivo(automata, paralela, false).buscarEnParalelo(archivo, hilos));
+        assertArrayEquals(secuencial.toByteArray(), paralela.toByteArray(), caso::toString);
+
+        ByteArrayOutputStream posiciones = new ByteArrayOutputStream(), posicionesParalela = new ByteArrayOutputStream();
+        new BuscadorArchivo(automata, posiciones, true).buscar(archivo);
+        new BuscadorArchivo(automata, posicionesParalela, true).buscarEnParalelo(archivo, hilos);
+        assertArrayEquals(posiciones.toByteArray(), posicionesParalela.toByteArray(), caso::toString);
+      }
+    } finally {
+      hilos.shutdown();
+    }
+  }
+
+  /**
+   * Generar líneas de letras y espacios al azar, algunas vacías y algunas largas
+   * @return Las líneas sin salto de línea
+   */
+  private static String[] generarLineas() {
+    Random aleatorio = new Random(7);
+    List<String> lineas = new ArrayList<>();
+    int total = 0;
+    while (total < TAMANO) {
+      int longitud = aleatorio.nextInt(20) == 0 ? aleatorio.nextInt(2000) : aleatorio.nextInt(60);
+      StringBuilder linea = new StringBuilder(longitud);
+      for (int i = 0; i < longitud; i++) linea.append("abcd ".charAt(aleatorio.nextInt(5)));
+      lineas.add(linea.toString());
+      total += longitud + 1;
+    }
+    return lineas.toArray(new String[0]);
+  }
+}
@@ -0,0 +1,159 @@
+package convertidor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Pruebas de la cache de AFN: aciertos, fallos y desalojos, las llaves normalizadas y que varios hilos que piden
+ * la misma expresión a la vez compartan una sola conversión.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see CacheAutomatas
+ */
+class CacheAutomatasTest {
+  /**
+   * Verificar los contadores de la cache
+   * @param cache Cache a verificar
+   * @param aciertos Aciertos esperados
+   * @param fallos Fallos esperados
+   * @param desalojos Desalojos esperados
+   * @param tamano Entradas esperadas
+   */
+  private static void assertContadores(CacheAutomatas cache, long aciertos, long fallos, long desalojos, int tamano) {
+    assertEquals(aciertos, cache.getAciertos(), cache::toString);
+    assertEquals(fallos, cache.getFallos(), cache::toString);
+    assertEquals(desalojos, cache.getDesalojos(), cache::toString);
+    assertEquals(tamano, cache.tamano(), cache::toString);
+  }
+
+  @Test
+  void aciertosYFallos() {
+    CacheAutomatas cache = new CacheAutomatas(4);
+    AFN automata = cache.obtener("(a+b)*c");
+    assertContadores(cache, 0, 1, 0, 1);
+    assertSame(automata, cache.obtener("(a+b)*c"));
+    assertSame(automata, cache.obtener("(a+b)*c"));
+    assertContadores(cache, 2, 1, 0, 1);
+    assertNotSame(automata, cache.obtener("a*"));
+    assertContadores(cache, 2, 2, 0, 2);
+
+    // Limpiar quita las entradas pero conserva los contadores
+    cache.limpiar();
+    assertContadores(cache, 2, 2, 0, 0);
+    assertNotSame(automata, cache.obtener("(a+b)*c"));
+    assertContadores(cache, 2, 3, 0, 1);
+  }
+
+  @Test
+  void llavesNormalizadas() {
+    CacheAutomatas cache = new CacheAutomatas();
+    AFN automata = cache.obtener("( a+b )");
+    assertSame(automata, cache.obtener("a+b"));
+    assertSame(automata, cache.obtener("[a + b]"));
+    assertSame(automata, cache.obtener(" (a+b)"));
+    assertContadores(cache, 3, 1, 0, 1);
+    // La agrupación exterior no se quita si no cubre toda la expresión
+    assertNotSame(automata, cache.obtener("(a)+(b)"));
+    assertContadores(cache, 3, 2, 0, 2);
+  }
+
+  @Test
+  void desalojarLaMenosUsada() {
+    CacheAutomatas cache = new CacheAutomatas(2);
+    AFN a = cache.obtener("a");
+    AFN b = cache.obtener("b");
+    // Usar a para que b sea la menos usada
+    assertSame(a, cache.obtener("a"));
+    cache.obtener("c");
+    assertContadores(cache, 1, 3, 1, 2);
+    assertSame(a, cache.obtener("a"));
+    assertContadores(cache, 2, 3, 1, 2);
+    assertNotSame(b, cache.obtener("b"));
+    assertContadores(cache, 2, 4, 2, 2);
+    // Ahora la menos usada era c
+    cache.obtener("c");
+    assertContadores(cache, 2, 5, 3, 2);
+  }
+
+  @Test
+  void noGuardarInvalidas() {
+    CacheAutomatas cache = new CacheAutomatas();
+    assertThrows(ExpresionInvalidaException.class, () -> cache.obtener("a**"));
+    assertThrows(ExpresionInvalidaException.class, () -> cache.obtener("a**"));
+    assertContadores(cache, 0, 2, 0, 0);
+    assertThrows(IllegalArgumentException.class, () -> new CacheAutomatas(0));
+  }
+
+  @Test
+  void fallosAlMismoTiempo() throws InterruptedException {
+    AtomicInteger conversiones = new AtomicInteger();
+    CountDownLatch terminar = new CountDownLatch(1);
+    // La conversión no termina hasta que todos los hilos pidieron la expresión
+    CacheAutomatas cache = new CacheAutomatas(4, expresion -> {
+      conversiones.incrementAndGet();
+      try {
+        terminar.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return ConstructorGlushkov.construir(expresion);
+    });
+    Thread[] hilos = new Thread[8];
+    AtomicReferenceArray<AFN> obtenidos = new AtomicReferenceArray<>(hilos.length);
+    for (int h = 0; h < hilos.length; h++) {
+      int indice = h;
+      hilos[h] = new Thread(() -> obtenidos.set(indice, cache.obtener(indice == 0 ? "(a+b)*c" : "( a+b)*c")));
+      hilos[h].start();
+    }
+    // Los que encuentran la conversión en curso cuentan un acierto antes de esperarla
+    while (cache.getAciertos() < hilos.length - 1) Thread.sleep(1);
+    assertContadores(cache, hilos.length - 1, 1, 0, 0);
+    terminar.countDown();
+    for (Thread hilo : hilos) hilo.join();
+
+    assertEquals(1, conversiones.get());
+    assertContadores(cache, hilos.length - 1, 1, 0, 1);
+    for (int h = 0; h < hilos.length; h++) assertSame(obtenidos.get(0), obtenidos.get(h));
+  }
+
+  @Test
+  void falloAlMismoTiempoConInvalida() throws InterruptedException {
+    CountDownLatch terminar = new CountDownLatch(1);
+    CacheAutomatas cache = new CacheAutomatas(4, expresion -> {
+      try {
+        terminar.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      throw new IllegalArgumentException("inválida");
+    });
+    AtomicReferenceArray<Throwable> errores = new AtomicReferenceArray<>(2);
+    Thread[] hilos = new Thread[2];
+    for (int h = 0; h < hilos.length; h++) {
+      int indice = h;
+      hilos[h] = new Thread(() -> {
+        try {
+          cache.obtener("a");
+        } catch (Throwable e) {
+          errores.set(indice, e);
+        }
+      });
+      hilos[h].start();
+    }
+    while (cache.getAciertos() < 1) Thread.sleep(1);
+    terminar.countDown();
+    for (Thread hilo : hilos) hilo.join();
+
+    // El que esperaba recibe la misma excepción que el que convirtió, y no se guarda nada
+    assertSame(errores.get(0), errores.get(1));
+    assertEquals("inválida", errores.get(0).getMessage());
+    assertContadores(cache, 1, 1, 0, 0);
+  }
+}
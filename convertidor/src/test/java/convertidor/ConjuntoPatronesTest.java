@@ -0,0 +1,98 @@
+package convertidor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del conjunto de patrones: los ids que encuentra en una sola pasada deben ser exactamente los patrones
+ * que java.util.regex encuentra uno por uno.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see ConjuntoPatrones
+ */
+class ConjuntoPatronesTest {
+  /** Número de conjuntos generados */
+  private static final int CONJUNTOS = 150;
+  /** Número máximo de patrones en cada conjunto */
+  private static final int PATRONES = 24;
+  /** Textos reconocidos con cada conjunto */
+  private static final int TEXTOS = 60;
+
+  /**
+   * Generar un conjunto de patrones al azar
+   * @param generador Generador de expresiones
+   * @param patrones Número de patrones
+   * @param casos Donde se guardan los patrones generados
+   * @return El conjunto compilado
+   */
+  private static ConjuntoPatrones generar(
+          ExpresionesAleatorias generador, int patrones, List<ExpresionesAleatorias.Caso> casos
+  ) {
+    List<String> expresiones = new ArrayList<>();
+    for (int p = 0; p < patrones; p++) {
+      ExpresionesAleatorias.Caso caso = generador.generar(2);
+      casos.add(caso);
+      expresiones.add(caso.expresion);
+    }
+    ConjuntoPatrones conjunto = ConjuntoPatrones.compilar(expresiones);
+    assertEquals(patrones, conjunto.getNumeroPatrones());
+    return conjunto;
+  }
+
+  @Test
+  void buscarComoFind() {
+    ExpresionesAleatorias generador = new ExpresionesAleatorias(19);
+    Random aleatorio = new Random(19);
+    for (int c = 0; c < CONJUNTOS; c++) {
+      List<ExpresionesAleatorias.Caso> casos = new ArrayList<>();
+      ConjuntoPatrones conjunto = generar(generador, 1 + aleatorio.nextInt(PATRONES), casos);
+      for (int t = 0; t < TEXTOS; t++) {
+        String texto = generador.palabra(30);
+        BitSet esperados = new BitSet();
+        for (int p = 0; p < casos.size(); p++) if (casos.get(p).contiene(texto)) esperados.set(p);
+        assertEquals(esperados, conjunto.buscar(texto), () -> casos + " en " + texto);
+      }
+    }
+  }
+
+  @Test
+  void aceptanComoMatches() {
+    ExpresionesAleatorias generador = new ExpresionesAleatorias(190);
+    Random aleatorio = new Random(190);
+    for (int c = 0; c < CONJUNTOS; c++) {
+      List<ExpresionesAleatorias.Caso> casos = new ArrayList<>();
+      ConjuntoPatrones conjunto = generar(generador, 1 + aleatorio.nextInt(PATRONES), casos);
+      for (int t = 0; t < TEXTOS; t++) {
+        String texto = generador.palabra(10);
+        BitSet esperados = new BitSet();
+        for (int p = 0; p < casos.size(); p++) if (casos.get(p).acepta(texto)) esperados.set(p);
+        assertEquals(esperados, conjunto.aceptan(texto), () -> casos + " con " + texto);
+      }
+    }
+  }
+
+  @Test
+  void patronesConocidos() {
+    ConjuntoPatrones conjunto = ConjuntoPatrones.compilar(List.of("ab", "b*", "(a+b)*c", "ab"));
+    assertEquals(BitSet.valueOf(new long[] {0b1011}), conjunto.buscar("xaby"));
+    assertEquals(BitSet.valueOf(new long[] {0b0110}), conjunto.buscar("bbc"));
+    // b* acepta la palabra vacía, así que coincide en cualquier texto
+    assertEquals(BitSet.valueOf(new long[] {0b0010}), conjunto.buscar(""));
+    assertEquals(BitSet.valueOf(new long[] {0b1001}), conjunto.aceptan("ab"));
+    assertTrue(conjunto.aceptan("abx").isEmpty());
+  }
+
+  @Test
+  void reportarPatronInvalido() {
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> ConjuntoPatrones.compilar(List.of("a+b", "c**")));
+    assertTrue(e.getMessage().startsWith("Patrón 1: "), e.getMessage());
+  }
+}
@@ -0,0 +1,168 @@
+package convertidor;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Genera expresiones regulares válidas al azar junto con su equivalente en java.util.regex,
+ * para comparar los reconocedores contra una implementación independiente.
+ * Usa uniones con +, , y |, concatenaciones, cerraduras de Kleene, agrupaciones con () y [] y la palabra vacía _
+ * como alternativa de una unión. Con la misma semilla siempre genera las mismas expresiones y palabras.
+ * No genera agrupaciones innecesarias como ((a+b)), porque la conversión paso a paso no las transforma
+ * (quedan como NodoExpresion.TiposExpresion.AGRUPACION); en su lugar se le agrega * a la interna.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ */
+class ExpresionesAleatorias {
+  /** Simbolos de las expresiones */
+  private static final String SIMBOLOS = "abc";
+  /** Simbolos de las palabras, la d no está en ninguna expresión */
+  private static final String SIMBOLOS_PALABRAS = "abcd";
+  /** Simbolos de unión que acepta el convertidor */
+  private static final String UNIONES = "+,|";
+
+  /** Generador de números aleatorios */
+  private final Random aleatorio;
+  /** Expresión generada en la sintaxis del convertidor */
+  private StringBuilder expresion;
+  /** La misma expresión en la sintaxis de java.util.regex */
+  private StringBuilder regex;
+
+  /**
+   * Instanciar un generador
+   * @param semilla Semilla del generador de números aleatorios
+   */
+  ExpresionesAleatorias(long semilla) { this.aleatorio = new Random(semilla); }
+
+  /**
+   * Generar la siguiente expresión
+   * @param profundidad Número máximo de agrupaciones anidadas
+   * @return La expresión y su patrón equivalente
+   */
+  Caso generar(int profundidad) {
+    expresion = new StringBuilder();
+    regex = new StringBuilder();
+    agregarUnion(profundidad);
+    return new Caso(expresion.toString(), Pattern.compile(regex.toString()));
+  }
+
+  /**
+   * Generar una palabra con simbolos de las expresiones y uno que nunca aparece en ellas
+   * @param longitudMaxima Longitud máxima de la palabra
+   * @return La palabra, puede ser vacía
+   */
+  String palabra(int longitudMaxima) {
+    int longitud = aleatorio.nextInt(longitudMaxima + 1);
+    StringBuilder palabra = new StringBuilder(longitud);
+    for (int i = 0; i < longitud; i++)
+      palabra.append(SIMBOLOS_PALABRAS.charAt(aleatorio.nextInt(SIMBOLOS_PALABRAS.length())));
+    return palabra.toString();
+  }
+
+  /**
+   * Agregar una unión de concatenaciones, o una sola concatenación
+   * @param profundidad Agrupaciones que aún se pueden anidar
+   * @return True si solo se agregó una agrupación sin cerradura de Kleene
+   */
+  private boolean agregarUnion(int profundidad) {
+    int alternativas = profundidad > 0 && aleatorio.nextInt(3) == 0 ? 2 + aleatorio.nextInt(2) : 1;
+    for (int i = 0; i < alternativas; i++) {
+      if (i > 0) {
+        expresion.append(UNIONES.charAt(aleatorio.nextInt(UNIONES.length())));
+        regex.append('|');
+      }
+      // La palabra vacía solo como alternativa de una unión, ejemplo: a+_
+      if (alternativas > 1 && aleatorio.nextInt(6) == 0) expresion.append('_');
+      else if (agregarConcatenacion(profundidad) && alternativas == 1) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Agregar una o más piezas seguidas
+   * @param profundidad Agrupaciones que aún se pueden anidar
+   * @return True si solo se agregó una agrupación sin cerradura de Kleene
+   */
+  private boolean agregarConcatenacion(int profundidad) {
+    int piezas = 1 + aleatorio.nextInt(3);
+    boolean agrupacion = false;
+    for (int i = 0; i < piezas; i++) agrupacion = agregarPieza(profundidad);
+    return piezas == 1 && agrupacion;
+  }
+
+  /**
+   * Agregar un simbolo o una agrupación, con o sin cerradura de Kleene
+   * @param profundidad Agrupaciones que aún se pueden anidar
+   * @return True si se agregó una agrupación sin cerradura de Kleene
+   */
+  private boolean agregarPieza(int profundidad) {
+    boolean agrupacion = false;
+    if (profundidad == 0 || aleatorio.nextInt(3) > 0) {
+      char simbolo = SIMBOLOS.charAt(aleatorio.nextInt(SIMBOLOS.length()));
+      expresion.append(simbolo);
+      regex.append(simbolo);
+    } else {
+      boolean corchetes = aleatorio.nextBoolean();
+      expresion.append(corchetes ? '[' : '(');
+      regex.append("(?:");
+      // Una agrupación que solo tiene otra agrupación sería innecesaria
+      if (agregarUnion(profundidad - 1)) {
+        expresion.append('*');
+        regex.append('*');
+      }
+      expresion.append(corchetes ? ']' : ')');
+      regex.append(')');
+      agrupacion = true;
+    }
+    if (aleatorio.nextInt(3) == 0) {
+      expresion.append('*');
+      regex.append('*');
+      return false;
+    }
+    return agrupacion;
+  }
+
+  /** Una expresión generada y su patrón equivalente */
+  static class Caso {
+    /** Expresión en la sintaxis del convertidor */
+    final String expresion;
+    /** Patrón equivalente de java.util.regex */
+    final Pattern patron;
+
+    /**
+     * Instanciar un caso
+     * @param expresion Expresión en la sintaxis del convertidor
+     * @param patron Patrón equivalente
+     */
+    Caso(String expresion, Pattern patron) {
+      this.expresion = expresion;
+      this.patron = patron;
+    }
+
+    /**
+     * Convertir la expresión sin mostrar los pasos
+     * @return El AFN de la expresión
+     */
+    AFN convertir() {
+      Convertidor convertidor = new Convertidor(expresion, OyenteConversion.SILENCIOSO);
+      convertidor.convertir();
+      return convertidor.getAFN();
+    }
+
+    /**
+     * Verificar si java.util.regex acepta la palabra completa
+     * @param palabra Palabra a reconocer
+     * @return True si el patrón coincide con toda la palabra
+     */
+    boolean acepta(String palabra) { return patron.matcher(palabra).matches(); }
+
+    /**
+     * Verificar si java.util.regex encuentra una coincidencia en el texto
+     * @param texto Texto donde se busca
+     * @return True si el patrón coincide con alguna parte del texto
+     */
+    boolean contiene(String texto) { return patron.matcher(texto).find(); }
+
+    @Override
+    public String toString() { return expresion; }
+  }
+}
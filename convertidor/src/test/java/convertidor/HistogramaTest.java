@@ -0,0 +1,81 @@
+package convertidor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas del histograma de latencias: las cubetas de cada latencia y los percentiles redondeados hacia arriba.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see Histograma
+ */
+class HistogramaTest {
+  @Test
+  void cubetas() {
+    assertEquals(0, Histograma.cubeta(-5));
+    assertEquals(0, Histograma.cubeta(0));
+    assertEquals(0, Histograma.cubeta(1));
+    assertEquals(1, Histograma.cubeta(2));
+    assertEquals(1, Histograma.cubeta(3));
+    assertEquals(2, Histograma.cubeta(4));
+    assertEquals(9, Histograma.cubeta(1023));
+    assertEquals(10, Histograma.cubeta(1024));
+    assertEquals(62, Histograma.cubeta(Long.MAX_VALUE));
+  }
+
+  @Test
+  void registrarYReiniciar() {
+    Histograma histograma = new Histograma();
+    histograma.registrar(1);
+    histograma.registrar(3);
+    histograma.registrar(2);
+    histograma.registrar(1500);
+    long[] esperadas = new long[Histograma.NUMERO_CUBETAS];
+    esperadas[0] = 1;
+    esperadas[1] = 2;
+    esperadas[10] = 1;
+    assertArrayEquals(esperadas, histograma.getCuentas());
+
+    histograma.reiniciar();
+    assertArrayEquals(new long[Histograma.NUMERO_CUBETAS], histograma.getCuentas());
+  }
+
+  @Test
+  void percentiles() {
+    long[] cuentas = new long[Histograma.NUMERO_CUBETAS];
+    assertEquals(0, Histograma.percentil(cuentas, 50));
+
+    // 90 latencias de 8 a 15 ns y 10 de 1024 a 2047 ns
+    cuentas[3] = 90;
+    cuentas[10] = 10;
+    assertEquals(15, Histograma.percentil(cuentas, 0));
+    assertEquals(15, Histograma.percentil(cuentas, 50));
+    assertEquals(15, Histograma.percentil(cuentas, 90));
+    assertEquals(2047, Histograma.percentil(cuentas, 90.5));
+    assertEquals(2047, Histograma.percentil(cuentas, 99));
+    assertEquals(2047, Histograma.percentil(cuentas, 100));
+
+    // Las cubetas más altas no caben en un long al redondear hacia arriba
+    cuentas[62] = 1000;
+    assertEquals(Long.MAX_VALUE, Histograma.percentil(cuentas, 99));
+  }
+
+  @Test
+  void registrarDesdeVariosHilos() throws InterruptedException {
+    Histograma histograma = new Histograma();
+    Thread[] hilos = new Thread[4];
+    for (int h = 0; h < hilos.length; h++) {
+      long latencia = 1L << (4 * h);
+      hilos[h] = new Thread(() -> {
+        for (int i = 0; i < 100_000; i++) histograma.registrar(latencia);
+      });
+      hilos[h].start();
+    }
+    for (Thread hilo : hilos) hilo.join();
+
+    long[] cuentas = histograma.getCuentas();
+    for (int h = 0; h < hilos.length; h++) assertEquals(100_000, cuentas[4 * h]);
+    assertEquals((1L << 13) - 1, Histograma.percentil(cuentas, 100));
+  }
+}
@@ -0,0 +1,150 @@
+package convertidor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de las métricas: los contadores de las conversiones y los reconocedores, y las conversiones más lentas
+ * que se guardan. Cada prueba usa sus propias métricas para no depender de las globales.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see Metricas
+ */
+class MetricasTest {
+  /**
+   * Crear las métricas de una conversión con un tiempo total dado
+   * @param expresion Expresión convertida
+   * @param nanosTotal Tiempo total, se reparte entre el análisis y los pasos
+   * @return Las métricas de la conversión
+   */
+  private static Metricas.InstantaneaConversion conversion(String expresion, long nanosTotal) {
+    long[] nanosPasos = new long[PasoConversion.TiposPaso.values().length];
+    nanosPasos[PasoConversion.TiposPaso.UNION.ordinal()] = nanosTotal / 4;
+    nanosPasos[PasoConversion.TiposPaso.CONCATENACION.ordinal()] = nanosTotal / 4;
+    nanosPasos[PasoConversion.TiposPaso.CERRADURA_KLEENE.ordinal()] = nanosTotal / 4;
+    long nanosAnalisis = nanosTotal - 3 * (nanosTotal / 4);
+    return new Metricas.InstantaneaConversion(expresion, nanosAnalisis, nanosPasos, 0, 3, 4, 5);
+  }
+
+  /**
+   * Obtener los tiempos totales de las conversiones más lentas
+   * @param metricas Métricas donde se registraron
+   * @return Los tiempos, en el orden de conversionesMasLentas()
+   */
+  private static List<Long> tiemposMasLentas(Metricas metricas) {
+    List<Long> tiempos = new ArrayList<>();
+    for (Metricas.InstantaneaConversion lenta : metricas.conversionesMasLentas()) tiempos.add(lenta.getNanosTotal());
+    return tiempos;
+  }
+
+  @Test
+  void sumarConversiones() {
+    Metricas metricas = new Metricas();
+    metricas.registrarConversion(conversion("a", 100));
+    metricas.registrarConversion(conversion("b", 40));
+    Metricas.Instantanea instantanea = metricas.instantanea();
+    assertEquals(2, instantanea.getConversiones());
+    assertEquals(140, instantanea.getNanosAnalisis() + instantanea.getNanosUniones()
+            + instantanea.getNanosConcatenaciones() + instantanea.getNanosCerraduras());
+    assertEquals(6, instantanea.getEstados());
+    assertEquals(8, instantanea.getTransiciones());
+    assertEquals(10, instantanea.getPasos());
+  }
+
+  @Test
+  void guardarLasMasLentas() {
+    Metricas metricas = new Metricas();
+    List<Long> tiempos = new ArrayList<>();
+    for (long t = 1; t <= 25; t++) tiempos.add(t * 1000);
+    Collections.shuffle(tiempos, new Random(21));
+    for (long t : tiempos) metricas.registrarConversion(conversion("t" + t, t));
+
+    List<Long> esperados = new ArrayList<>();
+    for (long t = 25; t > 25 - Metricas.MAS_LENTAS; t--) esperados.add(t * 1000);
+    assertEquals(esperados, tiemposMasLentas(metricas));
+    assertEquals("t25000", metricas.conversionesMasLentas().get(0).getExpresion());
+
+    // Una más rápida o igual que la más rápida guardada no entra, una más lenta saca a la más rápida
+    metricas.registrarConversion(conversion("igual", 16_000));
+    metricas.registrarConversion(conversion("rapida", 500));
+    assertEquals(esperados, tiemposMasLentas(metricas));
+    metricas.registrarConversion(conversion("lenta", 100_000));
+    assertEquals(100_000, tiemposMasLentas(metricas).get(0));
+    assertEquals(17_000, tiemposMasLentas(metricas).get(Metricas.MAS_LENTAS - 1));
+    assertEquals(Metricas.MAS_LENTAS, metricas.instantanea().getMasLentas().size());
+
+    metricas.reiniciar();
+    assertTrue(metricas.conversionesMasLentas().isEmpty());
+    metricas.registrarConversion(conversion("despues", 1));
+    assertEquals(List.of(1L), tiemposMasLentas(metricas));
+  }
+
+  @Test
+  void guardarLasMasLentasDesdeVariosHilos() throws InterruptedException {
+    Metricas metricas = new Metricas();
+    Thread[] hilos = new Thread[4];
+    List<Long> todos = Collections.synchronizedList(new ArrayList<>());
+    for (int h = 0; h < hilos.length; h++) {
+      Random aleatorio = new Random(h);
+      hilos[h] = new Thread(() -> {
+        for (int i = 0; i < 20_000; i++) {
+          long t = aleatorio.nextInt(1_000_000);
+          todos.add(t);
+          metricas.registrarConversion(conversion("x", t));
+        }
+      });
+      hilos[h].start();
+    }
+    for (Thread hilo : hilos) hilo.join();
+
+    todos.sort(Collections.reverseOrder());
+    assertEquals(todos.subList(0, Metricas.MAS_LENTAS), tiemposMasLentas(metricas));
+    assertEquals(todos.size(), metricas.getConversiones());
+  }
+
+  @Test
+  void recortarExpresionesLargas() {
+    String larga = "a".repeat(Metricas.LONGITUD_EXPRESION + 50);
+    Metricas.InstantaneaConversion conversion = conversion(larga, 10);
+    assertEquals(Metricas.LONGITUD_EXPRESION, conversion.getExpresion().length());
+    assertEquals(larga.length(), conversion.getLongitud());
+    assertTrue(conversion.toString().endsWith("..."), conversion::toString);
+    assertTrue(conversion("ab", 10).toString().endsWith("expresion=ab"));
+  }
+
+  @Test
+  void registrarReconocimientos() {
+    Metricas metricas = new Metricas();
+    // Con un inicio de hace 5 microsegundos la latencia cae en la cubeta de 4096 a 8191 ns o en una mayor
+    for (int i = 0; i < 3; i++)
+      metricas.registrarReconocimiento(Metricas.TiposReconocedor.AFD_MINIMO, System.nanoTime() - 5000, 10, 11);
+
+    Metricas.InstantaneaReconocedor afd = null;
+    for (Metricas.InstantaneaReconocedor reconocedor : metricas.instantanea().getReconocedores()) {
+      if (reconocedor.getNombre().equals("AFD_MINIMO")) afd = reconocedor;
+      else assertEquals(0, reconocedor.getLlamadas(), reconocedor::toString);
+    }
+    assertEquals(3, afd.getLlamadas());
+    assertEquals(30, afd.getCaracteres());
+    assertEquals(33, afd.getEstadosVisitados());
+    assertTrue(afd.getNanos() >= 15_000);
+    long cuentas = 0;
+    long[] histograma = afd.getHistograma();
+    for (int i = 0; i < histograma.length; i++) {
+      if (i < 12) assertEquals(0, histograma[i]);
+      cuentas += histograma[i];
+    }
+    assertEquals(3, cuentas);
+    assertTrue(afd.getPercentil50() >= 8191);
+
+    metricas.reiniciar();
+    int indice = Metricas.TiposReconocedor.AFD_MINIMO.ordinal();
+    assertEquals(0, metricas.instantanea().getReconocedores().get(indice).getLlamadas());
+  }
+}
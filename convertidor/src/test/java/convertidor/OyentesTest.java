@@ -0,0 +1,55 @@
+package convertidor;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de los oyentes que escriben los pasos: el texto debe ser el mismo de la salida original y las líneas
+ * deben terminar con '\n' en todos los sistemas.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see OyenteTexto
+ * @see OyenteJSON
+ */
+class OyentesTest {
+  /**
+   * Convertir una expresión y obtener lo que escribe el oyente
+   * @param expresion Expresión regular
+   * @param crear Crea el oyente que escribe en la salida
+   * @return El texto escrito
+   */
+  private static String escribir(String expresion, Function<PrintStream, OyenteConversion> crear) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PrintStream salida = new PrintStream(bytes, false, StandardCharsets.UTF_8);
+    new Convertidor(expresion, crear.apply(salida)).convertir();
+    return bytes.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void texto() {
+    assertEquals("""
+
+            Paso 1. Agregar estado inicial y final
+            >(q0) --- a+b --> ((q1))
+
+            Paso 2. Separar uniones en a+b:\s
+            >(q0) --- a --> ((q1))
+            >(q0) --- b --> ((q1))
+            """, escribir("a+b", OyenteTexto::new));
+  }
+
+  @Test
+  void json() {
+    assertEquals("""
+            {"paso":1,"tipo":"INICIAL","expresion":"a+b","transiciones":[\
+            {"origen":"q0","expresion":"a+b","destino":"q1"}]}
+            {"paso":2,"tipo":"UNION","expresion":"a+b","transiciones":[\
+            {"origen":"q0","expresion":"a","destino":"q1"},{"origen":"q0","expresion":"b","destino":"q1"}]}
+            """, escribir("a+b", OyenteJSON::new));
+  }
+}
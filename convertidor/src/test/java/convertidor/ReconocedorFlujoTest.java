@@ -0,0 +1,151 @@
+package convertidor;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas del reconocedor de flujos: las posiciones donde terminan las coincidencias deben ser las mismas sin
+ * importar cómo se parta el texto en trozos, y las mismas que encuentra java.util.regex en el texto completo.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see ReconocedorFlujo
+ */
+class ReconocedorFlujoTest {
+  /** Número de expresiones generadas */
+  private static final int EXPRESIONES = 400;
+  /** Textos recorridos con cada expresión */
+  private static final int TEXTOS = 10;
+  /** Bytes de relleno antes y después de cada trozo, que no se deben leer */
+  private static final int RELLENO = 3;
+
+  /**
+   * Calcular con java.util.regex las posiciones donde termina alguna coincidencia
+   * @param caso Expresión generada
+   * @param texto Texto completo
+   * @return Las posiciones en orden, incluyendo 0 si acepta la palabra vacía
+   */
+  private static List<Long> esperadas(ExpresionesAleatorias.Caso caso, String texto) {
+    // Alguna coincidencia termina en fin si el patrón coincide con un sufijo de los primeros fin caracteres
+    Pattern alFinal = Pattern.compile("(?:" + caso.patron.pattern() + ")$");
+    List<Long> posiciones = new ArrayList<>();
+    for (int fin = 0; fin <= texto.length(); fin++)
+      if (alFinal.matcher(texto.substring(0, fin)).find()) posiciones.add((long) fin);
+    return posiciones;
+  }
+
+  /**
+   * Partir el texto en trozos al azar, algunos vacíos
+   * @param texto Texto completo
+   * @param aleatorio Generador de los tamaños
+   * @return Los trozos, unidos dan el texto; al menos uno aunque el texto sea vacío
+   */
+  private static List<String> partir(String texto, Random aleatorio) {
+    List<String> trozos = new ArrayList<>();
+    int i = 0;
+    do {
+      int fin = Math.min(texto.length(), i + aleatorio.nextInt(6));
+      trozos.add(texto.substring(i, fin));
+      i = fin;
+    } while (i < texto.length());
+    return trozos;
+  }
+
+  /**
+   * Recorrer los trozos como ByteBuffer con relleno alrededor, así la posición de cada buffer es mayor a 0
+   * @param reconocedor Reconocedor del flujo
+   * @param trozos Trozos del texto
+   * @return Número de coincidencias que devolvió alimentar
+   */
+  private static long alimentarBytes(ReconocedorFlujo reconocedor, List<String> trozos) {
+    long coincidencias = 0;
+    for (String trozo : trozos) {
+      byte[] bytes = ("#".repeat(RELLENO) + trozo + "#".repeat(RELLENO)).getBytes(StandardCharsets.ISO_8859_1);
+      ByteBuffer buffer = ByteBuffer.wrap(bytes, RELLENO, trozo.length());
+      coincidencias += reconocedor.alimentar(buffer);
+      assertEquals(RELLENO + trozo.length(), buffer.position());
+    }
+    return coincidencias;
+  }
+
+  /**
+   * Recorrer los trozos como CharBuffer con relleno alrededor
+   * @param reconocedor Reconocedor del flujo
+   * @param trozos Trozos del texto
+   * @return Número de coincidencias que devolvió alimentar
+   */
+  private static long alimentarCaracteres(ReconocedorFlujo reconocedor, List<String> trozos) {
+    long coincidencias = 0;
+    for (String trozo : trozos) {
+      CharBuffer buffer = CharBuffer.wrap("#".repeat(RELLENO) + trozo + "#".repeat(RELLENO));
+      buffer.position(RELLENO).limit(RELLENO + trozo.length());
+      coincidencias += reconocedor.alimentar(buffer);
+      assertEquals(buffer.limit(), buffer.position());
+    }
+    return coincidencias;
+  }
+
+  @Test
+  void coincidenciasEntreTrozos() {
+    ExpresionesAleatorias generador = new ExpresionesAleatorias(23);
+    Random aleatorio = new Random(23);
+    for (int i = 0; i < EXPRESIONES; i++) {
+      ExpresionesAleatorias.Caso caso = generador.generar(3);
+      List<Long> encontradas = new ArrayList<>();
+      ReconocedorFlujo reconocedor = new ReconocedorFlujo(caso.convertir(), encontradas::add);
+      for (int t = 0; t < TEXTOS; t++) {
+        String texto = generador.palabra(40);
+        List<Long> esperadas = esperadas(caso, texto);
+        List<String> trozos = partir(texto, aleatorio);
+
+        // El mismo reconocedor se reinicia para cada texto y cada tipo de buffer
+        reconocedor.reiniciar();
+        encontradas.clear();
+        long coincidencias = alimentarBytes(reconocedor, trozos);
+        assertEquals(esperadas, encontradas, () -> caso + " en " + trozos);
+        assertEquals(esperadas.size(), coincidencias);
+        assertEquals(texto.length(), reconocedor.getPosicion());
+
+        reconocedor.reiniciar();
+        encontradas.clear();
+        coincidencias = alimentarCaracteres(reconocedor, trozos);
+        assertEquals(esperadas, encontradas, () -> caso + " en " + trozos);
+        assertEquals(esperadas.size(), coincidencias);
+      }
+    }
+  }
+
+  @Test
+  void coincidenciaQueCruzaTrozos() {
+    List<Long> encontradas = new ArrayList<>();
+    ReconocedorFlujo reconocedor = new ReconocedorFlujo(ConstructorGlushkov.construir("abc"), encontradas::add);
+    assertEquals(0, reconocedor.alimentar(CharBuffer.wrap("xxa")));
+    assertEquals(0, reconocedor.alimentar(CharBuffer.wrap("b")));
+    assertEquals(1, reconocedor.alimentar(CharBuffer.wrap("cab")));
+    assertEquals(1, reconocedor.alimentar(CharBuffer.wrap("c")));
+    assertEquals(List.of(5L, 8L), encontradas);
+  }
+
+  @Test
+  void palabraVaciaEnLaPosicion0() {
+    List<Long> encontradas = new ArrayList<>();
+    ReconocedorFlujo reconocedor = new ReconocedorFlujo(ConstructorGlushkov.construir("b*"), encontradas::add);
+    // Un trozo vacío ya avisa la coincidencia vacía del inicio, pero solo una vez
+    assertEquals(1, reconocedor.alimentar(ByteBuffer.allocate(0)));
+    assertEquals(0, reconocedor.alimentar(ByteBuffer.allocate(0)));
+    assertEquals(2, reconocedor.alimentar(ByteBuffer.wrap(new byte[] {'a', 'b'})));
+    assertEquals(List.of(0L, 1L, 2L), encontradas);
+
+    reconocedor.reiniciar();
+    encontradas.clear();
+    assertEquals(2, reconocedor.alimentar(ByteBuffer.wrap(new byte[] {'b'})));
+    assertEquals(List.of(0L, 1L), encontradas);
+  }
+}
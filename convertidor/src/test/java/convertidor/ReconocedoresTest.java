@@ -0,0 +1,145 @@
+package convertidor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas diferenciales de los reconocedores: cada uno debe aceptar exactamente las mismas palabras que
+ * java.util.regex con la expresión equivalente, en miles de expresiones y palabras generadas al azar.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see ExpresionesAleatorias
+ */
+class ReconocedoresTest {
+  /** Número de expresiones generadas en cada prueba */
+  private static final int EXPRESIONES = 1500;
+  /** Palabras reconocidas con cada expresión */
+  private static final int PALABRAS = 40;
+  /** Profundidad máxima de las agrupaciones */
+  private static final int PROFUNDIDAD = 3;
+  /** Longitud máxima de las palabras */
+  private static final int LONGITUD = 12;
+
+  /**
+   * Comparar un reconocedor contra java.util.regex
+   * @param crear Crea el reconocedor a partir del caso generado
+   * @return Número de expresiones comparadas
+   */
+  private static int comparar(Function<ExpresionesAleatorias.Caso, Reconocedor> crear) {
+    ExpresionesAleatorias generador = new ExpresionesAleatorias(20240446);
+    int comparadas = 0;
+    for (int i = 0; i < EXPRESIONES; i++) {
+      ExpresionesAleatorias.Caso caso = generador.generar(PROFUNDIDAD);
+      Reconocedor reconocedor = crear.apply(caso);
+      if (reconocedor == null) continue;
+      comparadas++;
+      for (int k = 0; k < PALABRAS; k++) {
+        String palabra = generador.palabra(LONGITUD);
+        assertEquals(caso.acepta(palabra), reconocedor.acepta(palabra), () -> caso + " con " + palabra);
+      }
+    }
+    return comparadas;
+  }
+
+  @Test
+  void simuladorAFN() { comparar(caso -> caso.convertir().crearSimulador()); }
+
+  @Test
+  void reconocedorPredeterminado() { comparar(caso -> caso.convertir().crearReconocedor()); }
+
+  @Test
+  void simuladorBits() {
+    int comparadas = comparar(caso -> {
+      AFN automata = caso.convertir();
+      return SimuladorBits.esAplicable(automata) ? new SimuladorBits(automata) : null;
+    });
+    assertTrue(comparadas > EXPRESIONES / 2, "Muy pocas expresiones con hasta 64 estados: " + comparadas);
+  }
+
+  @Test
+  void afdPerezoso() { comparar(caso -> new AFDPerezoso(caso.convertir())); }
+
+  @Test
+  void afdPerezosoVaciandoLaTabla() {
+    // Con un límite tan pequeño la tabla se vacía varias veces en la misma palabra
+    long[] reinicios = new long[1];
+    comparar(caso -> {
+      AFDPerezoso afd = new AFDPerezoso(caso.convertir(), 64);
+      return palabra -> {
+        boolean acepta = afd.acepta(palabra);
+        reinicios[0] += afd.getReinicios();
+        return acepta;
+      };
+    });
+    assertTrue(reinicios[0] > 0, "La tabla nunca se vació");
+  }
+
+  @Test
+  void afdPerezosoDentroDelLimite() {
+    // La capacidad reservada de los arreglos también cuenta, aunque crezcan al doble no pasan del límite
+    for (long limite : new long[] {300, 600, 1200}) {
+      long[] reinicios = new long[1];
+      comparar(caso -> {
+        AFDPerezoso afd = new AFDPerezoso(caso.convertir(), limite);
+        return palabra -> {
+          boolean acepta = afd.acepta(palabra);
+          assertTrue(afd.getMemoria() <= limite, () -> caso + ": " + afd.getMemoria() + " > " + limite);
+          reinicios[0] += afd.getReinicios();
+          return acepta;
+        };
+      });
+      assertTrue(reinicios[0] > 0, "La tabla nunca se vació con " + limite);
+    }
+
+    // El AFD de la octava letra desde el final tiene 256 estados, más de los que caben en el límite
+    long limite = 20_000;
+    AFDPerezoso afd = new AFDPerezoso(ConstructorGlushkov.construir("(a+b)*a" + "(a+b)".repeat(7)), limite);
+    Random aleatorio = new Random(3);
+    StringBuilder palabra = new StringBuilder();
+    int estado = afd.estadoInicial();
+    for (int i = 0; i < 5000; i++) {
+      palabra.append(aleatorio.nextBoolean() ? 'a' : 'b');
+      estado = afd.avanzar(estado, palabra.charAt(i));
+      assertTrue(afd.getMemoria() <= limite, () -> afd.getMemoria() + " > " + limite);
+      if (i >= 7) assertEquals(palabra.charAt(i - 7) == 'a', afd.esFinal(estado));
+    }
+    assertTrue(afd.getReinicios() > 0);
+  }
+
+  @Test
+  void afdPerezosoBusqueda() {
+    ExpresionesAleatorias generador = new ExpresionesAleatorias(42);
+    for (int i = 0; i < EXPRESIONES; i++) {
+      ExpresionesAleatorias.Caso caso = generador.generar(PROFUNDIDAD);
+      AFDPerezoso afd = AFDPerezoso.paraBusqueda(caso.convertir());
+      for (int k = 0; k < PALABRAS; k++) {
+        String texto = generador.palabra(3 * LONGITUD);
+        assertEquals(caso.contiene(texto), afd.contiene(texto), () -> caso + " en " + texto);
+      }
+    }
+  }
+
+  @Test
+  void afdMinimo() { comparar(caso -> new AFDMinimo(caso.convertir())); }
+
+  @Test
+  void afdMinimoComoAFN() { comparar(caso -> new AFDMinimo(caso.convertir()).aAFN().crearSimulador()); }
+
+  @Test
+  void glushkov() { comparar(caso -> ConstructorGlushkov.construir(caso.expresion).crearSimulador()); }
+
+  @Test
+  void sinPalabrasVacias() {
+    comparar(caso -> {
+      AFN automata = caso.convertir().sinPalabrasVacias();
+      for (Transicion t : automata.getTransiciones())
+        assertNotEquals("_", t.getExpresion().getExpresionRegular(), caso::toString);
+      return automata.crearSimulador();
+    });
+  }
+}
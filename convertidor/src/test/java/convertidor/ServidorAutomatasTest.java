@@ -0,0 +1,186 @@
+package convertidor;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del servidor de autómatas: las respuestas del protocolo, el desalojo de los autómatas con sus ids,
+ * la lectura de peticiones con longitud máxima y los AFD que se guardan por autómata.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see ServidorAutomatas
+ */
+class ServidorAutomatasTest {
+  /**
+   * Respuesta a RECONOCER con un id que no existe o que ya se desalojó
+   * @param id Id del autómata
+   * @return El mensaje de error
+   */
+  private static String desalojado(int id) { return "ERROR No existe el autómata " + id + " o ya se desalojó"; }
+
+  @Test
+  void responderCompilar() throws IOException {
+    try (ServidorAutomatas servidor = new ServidorAutomatas(0)) {
+      assertEquals("OK 0", servidor.responder("COMPILAR (a+b)*c"));
+      assertEquals("OK 1", servidor.responder("COMPILAR ab"));
+      // La misma expresión normalizada recibe el mismo id
+      assertEquals("OK 0", servidor.responder("COMPILAR ( a+b )*c"));
+      assertEquals(2, servidor.getNumeroCompilados());
+    }
+  }
+
+  @Test
+  void responderReconocer() throws IOException {
+    try (ServidorAutomatas servidor = new ServidorAutomatas(0)) {
+      assertEquals("OK 0", servidor.responder("COMPILAR (a+b)*c"));
+      assertEquals("SI", servidor.responder("RECONOCER 0 abbac"));
+      assertEquals("NO", servidor.responder("RECONOCER 0 abba"));
+      assertEquals("OK 1", servidor.responder("COMPILAR a*"));
+      // La palabra es todo lo que sigue al id, puede estar vacía o tener espacios
+      assertEquals("SI", servidor.responder("RECONOCER 1 "));
+      assertEquals("NO", servidor.responder("RECONOCER 1 a a"));
+    }
+  }
+
+  @Test
+  void responderErrores() throws IOException {
+    try (ServidorAutomatas servidor = new ServidorAutomatas(0)) {
+      assertEquals("ERROR falta la expresión", servidor.responder("COMPILAR"));
+      assertTrue(servidor.responder("COMPILAR a++b").startsWith("ERROR Expresión regular inválida"));
+      assertEquals("ERROR faltan el id y la palabra", servidor.responder("RECONOCER"));
+      assertEquals("ERROR faltan el id y la palabra", servidor.responder("RECONOCER 0"));
+      assertTrue(servidor.responder("RECONOCER x ab").startsWith("ERROR "));
+      assertEquals(desalojado(7), servidor.responder("RECONOCER 7 ab"));
+      assertEquals("ERROR comando desconocido: BORRAR", servidor.responder("BORRAR 0"));
+      assertEquals("ERROR comando desconocido: ", servidor.responder(""));
+      // Los mensajes de error caben en una sola línea
+      for (String error : new String[] {servidor.responder("COMPILAR (a"), servidor.responder("COMPILAR *")})
+        assertEquals(-1, error.indexOf('\n'), error);
+    }
+  }
+
+  @Test
+  void desalojarElMenosUsado() throws IOException {
+    try (ServidorAutomatas servidor = new ServidorAutomatas(0, 2)) {
+      int a = servidor.compilar("a");
+      int b = servidor.compilar("b");
+      // Reconocer con a lo marca como el más reciente, así se desaloja b
+      assertTrue(servidor.reconocer(a, "a"));
+      int c = servidor.compilar("c");
+      assertEquals(2, servidor.getNumeroCompilados());
+      assertEquals(desalojado(b), servidor.responder("RECONOCER " + b + " b"));
+      assertEquals("SI", servidor.responder("RECONOCER " + a + " a"));
+      assertEquals("SI", servidor.responder("RECONOCER " + c + " c"));
+
+      // El id de b se desalojó con su autómata: al volver a compilarla recibe un id nuevo y se desaloja a
+      int b2 = servidor.compilar("b");
+      assertNotEquals(b, b2);
+      assertEquals(desalojado(a), servidor.responder("RECONOCER " + a + " a"));
+      assertEquals("SI", servidor.responder("RECONOCER " + b2 + " b"));
+      assertEquals(2, servidor.getNumeroCompilados());
+
+      // Compilar una expresión que sigue guardada también la marca como la más reciente
+      assertEquals(c, servidor.compilar("c"));
+      servidor.compilar("d");
+      assertEquals("SI", servidor.responder("RECONOCER " + c + " c"));
+      assertTrue(servidor.responder("RECONOCER " + b2 + " b").startsWith("ERROR "));
+    }
+  }
+
+  @Test
+  void muchasExpresionesConCapacidadFija() throws IOException {
+    try (ServidorAutomatas servidor = new ServidorAutomatas(0, 16)) {
+      // Nunca se acaban los ids ni crece lo guardado, aunque se compilen muchas más expresiones que la capacidad
+      for (int i = 0; i < 5000; i++) {
+        String expresion = "a".repeat(i % 50 + 1) + "b".repeat(i / 50 + 1);
+        int id = servidor.compilar(expresion);
+        assertTrue(servidor.reconocer(id, expresion));
+        assertTrue(servidor.getNumeroCompilados() <= servidor.getCapacidad());
+      }
+      assertEquals(16, servidor.getNumeroCompilados());
+    }
+  }
+
+  @Test
+  void leerPeticiones() throws IOException {
+    Reader entrada = new StringReader("COMPILAR a+b\nRECONOCER 0 ab\r\n\nSALIR");
+    StringBuilder linea = new StringBuilder();
+    assertEquals("COMPILAR a+b", ServidorAutomatas.leerPeticion(entrada, linea));
+    assertEquals("RECONOCER 0 ab", ServidorAutomatas.leerPeticion(entrada, linea));
+    assertEquals("", ServidorAutomatas.leerPeticion(entrada, linea));
+    // La última línea no necesita salto de línea
+    assertEquals("SALIR", ServidorAutomatas.leerPeticion(entrada, linea));
+    assertNull(ServidorAutomatas.leerPeticion(entrada, linea));
+  }
+
+  @Test
+  void peticionDeLongitudMaxima() throws IOException {
+    String peticion = "a".repeat(ServidorAutomatas.LONGITUD_MAXIMA_PETICION);
+    Reader entrada = new StringReader(peticion + "\n");
+    assertEquals(peticion, ServidorAutomatas.leerPeticion(entrada, new StringBuilder()));
+  }
+
+  @Test
+  void rechazarPeticionDemasiadoLarga() {
+    Reader entrada = new StringReader("a".repeat(ServidorAutomatas.LONGITUD_MAXIMA_PETICION + 1));
+    assertThrows(IllegalStateException.class, () -> ServidorAutomatas.leerPeticion(entrada, new StringBuilder()));
+  }
+
+  @Test
+  void cerrarConexionConPeticionDemasiadoLarga() throws IOException {
+    try (ServidorAutomatas servidor = new ServidorAutomatas(0)) {
+      Thread hilo = new Thread(servidor::atender);
+      hilo.setDaemon(true);
+      hilo.start();
+      try (Socket cliente = new Socket(InetAddress.getLoopbackAddress(), servidor.getPuerto())) {
+        Writer salida = new OutputStreamWriter(cliente.getOutputStream(), StandardCharsets.UTF_8);
+        BufferedReader entrada = new BufferedReader(
+                new InputStreamReader(cliente.getInputStream(), StandardCharsets.UTF_8)
+        );
+        salida.write("COMPILAR a+b\n");
+        // Sin salto de línea, readLine() la guardaría completa esperando el final
+        salida.write("RECONOCER 0 " + "a".repeat(ServidorAutomatas.LONGITUD_MAXIMA_PETICION));
+        salida.flush();
+        assertEquals("OK 0", entrada.readLine());
+        assertTrue(entrada.readLine().startsWith("ERROR "));
+        assertNull(entrada.readLine());
+      }
+    }
+  }
+
+  @Test
+  void limitarAFDLibres() throws Exception {
+    int hilos = 4 * ServidorAutomatas.MAXIMO_LIBRES;
+    ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+    try (ServidorAutomatas servidor = new ServidorAutomatas(0)) {
+      // Más de 64 estados, así se reconoce con AFD perezosos
+      int id = servidor.compilar("(a+b)*c".repeat(30));
+      CyclicBarrier barrera = new CyclicBarrier(hilos);
+      Future<?>[] tareas = new Future<?>[hilos];
+      for (int i = 0; i < hilos; i++)
+        tareas[i] = ejecutor.submit(() -> {
+          barrera.await();
+          for (int k = 0; k < 50; k++) assertTrue(servidor.reconocer(id, "abc".repeat(30)));
+          return null;
+        });
+      for (Future<?> tarea : tareas) tarea.get();
+      int libres = servidor.getNumeroLibres(id);
+      assertTrue(libres >= 1 && libres <= ServidorAutomatas.MAXIMO_LIBRES, "AFD libres: " + libres);
+    } finally {
+      ejecutor.shutdown();
+    }
+  }
+}
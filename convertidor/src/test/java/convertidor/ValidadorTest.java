@@ -0,0 +1,151 @@
+package convertidor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del validador: cada expresión inválida debe reportar exactamente la regla y la posición del primer error.
+ * @author Aldana Pérez José Samuel <20240446@leon.tecnm.mx>
+ * @see Validador
+ */
+class ValidadorTest {
+  /**
+   * Verificar que la expresión es inválida por la regla y en la posición esperadas
+   * @param expresion Expresión a validar
+   * @param regla Regla que no se cumple
+   * @param posicion Posición del error
+   */
+  private static void assertError(String expresion, Validador.Reglas regla, int posicion) {
+    ExpresionInvalidaException e = assertThrows(ExpresionInvalidaException.class,
+            () -> Validador.validar(expresion), expresion);
+    assertEquals(regla, e.getRegla(), expresion);
+    assertEquals(posicion, e.getPosicion(), expresion);
+    assertFalse(Validador.esValida(expresion), expresion);
+  }
+
+  /**
+   * Verificar que la expresión es válida
+   * @param expresion Expresión a validar
+   */
+  private static void assertValida(String expresion) {
+    Validador.validar(expresion);
+    assertTrue(Validador.esValida(expresion), expresion);
+  }
+
+  @Test
+  void expresionesValidas() {
+    assertValida("a");
+    assertValida("(a+b)*c");
+    assertValida("[a,b]|(c*)");
+    assertValida("(a)");
+    assertValida("a+_");
+    assertValida("");
+  }
+
+  @Test
+  void cierreSinApertura() {
+    assertError(")", Validador.Reglas.CIERRE_SIN_APERTURA, 0);
+    assertError("a+b)", Validador.Reglas.CIERRE_SIN_APERTURA, 3);
+    assertError("(a)]", Validador.Reglas.CIERRE_SIN_APERTURA, 3);
+  }
+
+  @Test
+  void cierreDiferente() {
+    assertError("(a]", Validador.Reglas.CIERRE_DIFERENTE, 2);
+    assertError("[a)", Validador.Reglas.CIERRE_DIFERENTE, 2);
+    assertError("[(a])", Validador.Reglas.CIERRE_DIFERENTE, 3);
+  }
+
+  @Test
+  void aperturaSinCierre() {
+    assertError("(", Validador.Reglas.APERTURA_SIN_CIERRE, 0);
+    assertError("(a+b", Validador.Reglas.APERTURA_SIN_CIERRE, 0);
+    assertError("(a)[b", Validador.Reglas.APERTURA_SIN_CIERRE, 3);
+    // Se reporta la última agrupación sin cerrar
+    assertError("((a)", Validador.Reglas.APERTURA_SIN_CIERRE, 0);
+    assertError("(a[b", Validador.Reglas.APERTURA_SIN_CIERRE, 2);
+    assertError("[a(b)", Validador.Reglas.APERTURA_SIN_CIERRE, 0);
+  }
+
+  @Test
+  void soloOperador() {
+    // n == 1
+    assertError("+", Validador.Reglas.SOLO_OPERADOR, 0);
+    assertError(",", Validador.Reglas.SOLO_OPERADOR, 0);
+    assertError("|", Validador.Reglas.SOLO_OPERADOR, 0);
+    assertError("*", Validador.Reglas.SOLO_OPERADOR, 0);
+    // n == 3, solo con la misma agrupación alrededor
+    assertError("(*)", Validador.Reglas.SOLO_OPERADOR, 1);
+    assertError("[+]", Validador.Reglas.SOLO_OPERADOR, 1);
+    assertError("(|)", Validador.Reglas.SOLO_OPERADOR, 1);
+    assertError("(+]", Validador.Reglas.CIERRE_DIFERENTE, 2);
+    assertValida("a*b");
+    assertValida("(a)*");
+  }
+
+  @Test
+  void operadorRepetido() {
+    assertError("a**", Validador.Reglas.OPERADOR_REPETIDO, 1);
+    assertError("a++b", Validador.Reglas.OPERADOR_REPETIDO, 1);
+    assertError("a,,b", Validador.Reglas.OPERADOR_REPETIDO, 1);
+    assertError("(a+b)||c", Validador.Reglas.OPERADOR_REPETIDO, 5);
+    // Uniones diferentes seguidas no son el mismo simbolo repetido
+    assertValida("a+,b");
+  }
+
+  @Test
+  void unionConKleene() {
+    assertError("a+*b", Validador.Reglas.UNION_CON_KLEENE, 1);
+    assertError("a|*", Validador.Reglas.UNION_CON_KLEENE, 1);
+    assertError("(a,*)", Validador.Reglas.UNION_CON_KLEENE, 2);
+    assertValida("a*+b");
+  }
+
+  @Test
+  void primerError() {
+    // Los errores durante el recorrido se reportan antes que las agrupaciones sin cerrar
+    assertError("(a**", Validador.Reglas.OPERADOR_REPETIDO, 2);
+    assertError("a++b)", Validador.Reglas.OPERADOR_REPETIDO, 1);
+  }
+
+  @Test
+  void posicionMayorA255() {
+    // La posición se guarda recorrida 8 bits junto con el ordinal de la regla
+    String a = "a".repeat(1000);
+    assertError(a + "**", Validador.Reglas.OPERADOR_REPETIDO, 1000);
+    assertError(a + "+*", Validador.Reglas.UNION_CON_KLEENE, 1000);
+    assertError(a + ")", Validador.Reglas.CIERRE_SIN_APERTURA, 1000);
+    assertError(a + "(" + a, Validador.Reglas.APERTURA_SIN_CIERRE, 1000);
+    assertError("a".repeat(70_000) + "]", Validador.Reglas.CIERRE_SIN_APERTURA, 70_000);
+  }
+
+  @Test
+  void masDe64AgrupacionesAbiertas() {
+    // Alternar ( y [ para que cada bit de la pila importe, también más allá de las primeras 64 y del arreglo inicial
+    int profundidad = 400;
+    StringBuilder aperturas = new StringBuilder(), cierres = new StringBuilder();
+    for (int i = 0; i < profundidad; i++) {
+      boolean corchete = i % 3 == 0;
+      aperturas.append(corchete ? '[' : '(');
+      cierres.insert(0, corchete ? ']' : ')');
+    }
+    String expresion = aperturas + "a" + cierres;
+    assertValida(expresion);
+
+    // Cambiar un cierre por el otro tipo en varias profundidades
+    for (int nivel : new int[] {0, 1, 63, 64, 65, 127, 128, 319, 320, 399}) {
+      int posicion = profundidad + 1 + (profundidad - 1 - nivel);
+      char[] caracteres = expresion.toCharArray();
+      caracteres[posicion] = caracteres[posicion] == ')' ? ']' : ')';
+      // Los cierres de los niveles más profundos ya se verificaron, este es el primer error
+      assertError(new String(caracteres), Validador.Reglas.CIERRE_DIFERENTE, posicion);
+    }
+
+    assertError(aperturas + "a" + cierres.substring(0, profundidad - 1), Validador.Reglas.APERTURA_SIN_CIERRE, 0);
+    assertError(aperturas + "a" + cierres + ")", Validador.Reglas.CIERRE_SIN_APERTURA, 2 * profundidad + 1);
+  }
+}